@@ -0,0 +1,247 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive concurrency limit of the calls made to a Sifflet endpoint with a given API key, shared by every
+ * task of the JVM.
+ * <p>
+ * The limit follows an AIMD scheme: each successful call raises it by {@code 1 / limit} (about one more slot
+ * per round trip) as long as the smoothed latency stays close to its best recent value, while a throttled
+ * (429, 503) or failed call, or a smoothed latency drifting well above the baseline, halves it, at most once
+ * per round trip. Smoothing keeps isolated tail latencies from collapsing the limit. Latencies are tracked
+ * per API endpoint name, as a page of rules naturally takes much longer than a status check: mixing them
+ * would read a catalog sync running next to status polls as congestion.
+ * <p>
+ * Calls over the limit wait in the queue of their {@link Lane}. Freed slots are shared between the lanes with
+ * waiting calls in proportion to their weights (stride scheduling), so latency-sensitive calls get ahead of bulk
+ * fetches without starving them; within a lane, calls are served in arrival order.
+ */
+class AdaptiveLimiter {
+    private static final Map<String, AdaptiveLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    static final int MIN_LIMIT = 1;
+    static final int MAX_LIMIT = 64;
+    private static final double INITIAL_LIMIT = 8;
+    private static final double BACKOFF_RATIO = 0.5;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double SMOOTHING = 0.1;
+    private static final double BASELINE_DRIFT = 0.01;
+
+    enum Outcome {
+        SUCCESS,
+        THROTTLED,
+        IGNORED
+    }
+
+    enum Lane {
+        /**
+         * Calls a flow is waiting on, such as run starts and status polls.
+         */
+        INTERACTIVE(4),
+        /**
+         * Large fetches such as catalog listings and history exports.
+         */
+        BULK(1);
+
+        private final int weight;
+
+        Lane(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A granted slot, with how long and behind how many calls of its lane it waited.
+     */
+    record Permit(Lane lane, long waitNanos, int queueDepth) {
+    }
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Map<Lane, ArrayDeque<Waiter>> queues = new EnumMap<>(Lane.class);
+    private final Map<Lane, Double> passes = new EnumMap<>(Lane.class);
+
+    private final Map<String, Latency> latencies = new HashMap<>();
+
+    private double limit = INITIAL_LIMIT;
+    private int inFlight;
+    private double virtualTime;
+    private long lastDecrease;
+
+    AdaptiveLimiter() {
+        for (Lane lane : Lane.values()) {
+            queues.put(lane, new ArrayDeque<>());
+            passes.put(lane, 0.0);
+        }
+    }
+
+    static AdaptiveLimiter of(String url, String apiKey) {
+        return LIMITERS.computeIfAbsent(Endpoints.key(url, apiKey), key -> new AdaptiveLimiter());
+    }
+
+    /**
+     * Take a slot without waiting, only when one is free and no call is queued for it.
+     *
+     * @return whether a slot was granted, to be given back with {@link #release(String, long, Outcome)}
+     */
+    boolean tryAcquire(Lane lane) {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit && queues.values().stream().allMatch(ArrayDeque::isEmpty)) {
+                grant(lane);
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Permit acquire(Lane lane) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit && queues.values().stream().allMatch(ArrayDeque::isEmpty)) {
+                grant(lane);
+                return new Permit(lane, 0, 0);
+            }
+
+            long start = System.nanoTime();
+            ArrayDeque<Waiter> queue = queues.get(lane);
+            if (queue.isEmpty()) {
+                // a lane coming back does not get credit for the time it was idle
+                passes.put(lane, Math.max(passes.get(lane), virtualTime));
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            queue.addLast(waiter);
+            int queueDepth = queue.size();
+
+            try {
+                while (!waiter.granted) {
+                    waiter.condition.await();
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    inFlight--;
+                    dispatch();
+                } else {
+                    queue.remove(waiter);
+                }
+                throw e;
+            }
+            return new Permit(lane, System.nanoTime() - start, queueDepth);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Give a slot back, feeding the latency and outcome of the call to the limit.
+     *
+     * @param endpoint a stable name of the called API endpoint, whose latencies are compared with each other
+     */
+    void release(String endpoint, long latencyNanos, Outcome outcome) {
+        lock.lock();
+        try {
+            inFlight--;
+
+            if (outcome == Outcome.SUCCESS) {
+                Latency latency = latencies.computeIfAbsent(endpoint, key -> new Latency());
+                latency.smoothedNanos = latency.smoothedNanos == 0 ?
+                    latencyNanos :
+                    latency.smoothedNanos + (latencyNanos - latency.smoothedNanos) * SMOOTHING;
+
+                // the baseline follows the best latencies at once and drifts slowly towards slower ones
+                latency.baselineNanos = latency.baselineNanos == 0 || latency.smoothedNanos < latency.baselineNanos ?
+                    latency.smoothedNanos :
+                    latency.baselineNanos + (latency.smoothedNanos - latency.baselineNanos) * BASELINE_DRIFT;
+
+                if (latency.smoothedNanos > latency.baselineNanos * LATENCY_TOLERANCE) {
+                    decrease(latencyNanos);
+                } else {
+                    limit = Math.min(MAX_LIMIT, limit + 1 / limit);
+                }
+            } else if (outcome == Outcome.THROTTLED) {
+                decrease(latencyNanos);
+            }
+
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int queueDepth(Lane lane) {
+        lock.lock();
+        try {
+            return queues.get(lane).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // hand free slots to the waiting lane that is furthest behind its weighted share
+    private void dispatch() {
+        while (inFlight < (int) limit) {
+            Lane next = null;
+            for (Lane lane : Lane.values()) {
+                if (!queues.get(lane).isEmpty() && (next == null || passes.get(lane) < passes.get(next))) {
+                    next = lane;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+
+            Waiter waiter = queues.get(next).pollFirst();
+            waiter.granted = true;
+            grant(next);
+            waiter.condition.signal();
+        }
+    }
+
+    private void grant(Lane lane) {
+        inFlight++;
+        virtualTime = passes.get(lane);
+        passes.put(lane, virtualTime + 1.0 / lane.weight);
+    }
+
+    // calls in flight when congestion started report it too, only react once per round trip
+    private void decrease(long latencyNanos) {
+        long now = System.nanoTime();
+        if (lastDecrease != 0 && now - lastDecrease < latencyNanos) {
+            return;
+        }
+
+        limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+        lastDecrease = now;
+    }
+
+    private static class Latency {
+        private double smoothedNanos;
+        private double baselineNanos;
+    }
+
+    private static class Waiter {
+        private final Condition condition;
+        private boolean granted;
+
+        Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+}
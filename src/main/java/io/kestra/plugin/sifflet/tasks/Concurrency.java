@@ -0,0 +1,37 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The adaptive concurrency seen by a task on a Sifflet endpoint when it ended. These are point-in-time values,
+ * reported in the task output rather than as counters, which would be summed across runs.
+ */
+@Builder
+@Getter
+public class Concurrency {
+    @Schema(
+        title = "Endpoint",
+        description = "The host of the Sifflet endpoint"
+    )
+    private String endpoint;
+
+    @Schema(
+        title = "Lane",
+        description = "The priority lane of the task's calls, `interactive` or `bulk`"
+    )
+    private String lane;
+
+    @Schema(
+        title = "Limit",
+        description = "The concurrency limit of the endpoint when the task ended"
+    )
+    private Integer limit;
+
+    @Schema(
+        title = "Queue Depth",
+        description = "The deepest queue of the lane that the task's calls waited behind"
+    )
+    private Integer queueDepth;
+}
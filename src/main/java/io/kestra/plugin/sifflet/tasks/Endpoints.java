@@ -0,0 +1,28 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Identity of a Sifflet endpoint as seen with a given API key, used to scope state shared between tasks
+ * without keeping the API key itself.
+ */
+final class Endpoints {
+    private Endpoints() {
+    }
+
+    /**
+     * A hex SHA-256 digest of the URL and API key, truncated to 128 bits.
+     */
+    static String key(String url, String apiKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((url + "\n" + apiKey).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
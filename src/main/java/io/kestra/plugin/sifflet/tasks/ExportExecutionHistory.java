@@ -0,0 +1,385 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Export Sifflet rule execution history",
+    description = "Export every rule execution recorded since the last export into an internal storage file. " +
+        "A checkpoint is saved in the namespace KV store at the end of each run, so a scheduled flow only fetches " +
+        "new executions each time."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Export new rule executions every hour",
+            full = true,
+            code = {
+                """
+                id: sifflet-history
+                namespace: company.team
+
+                tasks:
+                  - id: export
+                    type: io.kestra.plugin.sifflet.tasks.ExportExecutionHistory
+                    url: https://api.siffletdata.com
+                    apiKey: "{{ secret('SIFFLET_API_KEY') }}"
+                    since: "2024-01-01T00:00:00Z"
+
+                triggers:
+                  - id: hourly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 * * * *"
+                """
+            }
+        )
+    }
+)
+public class ExportExecutionHistory extends Task implements RunnableTask<ExportExecutionHistory.Output> {
+    private static final String CHECKPOINT_PREFIX = "sifflet_history_";
+    private static final int PREFETCH_PAGES = 2;
+    private static final Page END = new Page(null);
+
+    @Schema(
+        title = "Sifflet API URL",
+        description = "The base URL for the Sifflet API"
+    )
+    @PluginProperty(dynamic = true)
+    private String url;
+
+    @Schema(
+        title = "API Key",
+        description = "The API key for authentication with Sifflet"
+    )
+    @PluginProperty(dynamic = true)
+    private String apiKey;
+
+    @Schema(
+        title = "Page Size",
+        description = "Number of executions to fetch per page"
+    )
+    @PluginProperty(dynamic = true)
+    @Builder.Default
+    private Integer pageSize = 500;
+
+    @Schema(
+        title = "Since",
+        description = "The ISO-8601 timestamp to start from when no checkpoint exists yet. " +
+            "Without it, the first run exports the whole history."
+    )
+    @PluginProperty(dynamic = true)
+    private String since;
+
+    @Schema(
+        title = "Checkpoint Field",
+        description = "The ISO-8601 timestamp field of each execution used to advance the checkpoint. " +
+            "Executions without this field cannot be checkpointed, so they are skipped and counted in `skipped` " +
+            "rather than exported again on every run."
+    )
+    @PluginProperty(dynamic = true)
+    @Builder.Default
+    private String checkpointField = "updatedAt";
+
+    @Schema(
+        title = "Checkpoint Key",
+        description = "The namespace KV key holding the checkpoint, defaults to one key per flow and task"
+    )
+    @PluginProperty(dynamic = true)
+    private String checkpointKey;
+
+    @Override
+    public ExportExecutionHistory.Output run(RunContext runContext) throws Exception {
+        String resolvedUrl = runContext.render(url);
+        String resolvedApiKey = runContext.render(apiKey);
+        String resolvedField = runContext.render(checkpointField);
+        int resolvedPageSize = pageSize != null ? pageSize : 500;
+
+        if (resolvedUrl == null || resolvedUrl.isEmpty()) {
+            throw new IllegalArgumentException("Sifflet API URL must be provided");
+        }
+        if (resolvedApiKey == null || resolvedApiKey.isEmpty()) {
+            throw new IllegalArgumentException("Sifflet API key must be provided");
+        }
+
+        KVStore kvStore = runContext.namespaceKv(runContext.flowInfo().namespace());
+        String key = checkpointKey != null ?
+            runContext.render(checkpointKey) :
+            CHECKPOINT_PREFIX + (runContext.flowInfo().id() + "_" + this.getId()).replaceAll("[^a-zA-Z0-9._-]", "_");
+
+        String resolvedSince = since != null ? runContext.render(since) : null;
+        Checkpoint previous = kvStore.getValue(key)
+            .map(KVValue::value)
+            .map(value -> Mappers.json().convertValue(value, Checkpoint.class))
+            .orElseGet(() -> new Checkpoint(resolvedSince, new HashSet<>()));
+        runContext.logger().info("Exporting rule executions since {}", previous.getTimestamp() != null ? previous.getTimestamp() : "the beginning");
+
+        SiffletClient client = new SiffletClient(runContext, resolvedUrl, resolvedApiKey, AdaptiveLimiter.Lane.BULK);
+
+        // pages are fetched ahead on a separate thread, so parsing and writing a page overlaps the download of the next ones
+        BlockingQueue<Page> pages = new ArrayBlockingQueue<>(PREFETCH_PAGES);
+        ExecutorService executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("sifflet-history-fetch").factory());
+
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        Checkpoint checkpoint = new Checkpoint(previous.getTimestamp(), previous.getIds() != null ? new HashSet<>(previous.getIds()) : new HashSet<>());
+        int count = 0;
+        int skipped = 0;
+        int pageCount = 0;
+        try {
+            Future<?> fetcher = executor.submit(() -> {
+                fetchPages(client, resolvedPageSize, previous.getTimestamp(), pages);
+                return null;
+            });
+
+            try (OutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+                for (Page page = take(pages, fetcher); page != END; page = take(pages, fetcher)) {
+                    pageCount++;
+                    HistoryPage historyPage;
+                    try {
+                        historyPage = Mappers.json().readValue(page.body(), HistoryPage.class);
+                    } catch (Exception e) {
+                        throw new RuntimeException("Failed to parse execution history response: " + e.getMessage(), e);
+                    }
+                    if (historyPage.executions == null) {
+                        continue;
+                    }
+
+                    for (Map<String, Object> execution : historyPage.executions) {
+                        if (execution.get(resolvedField) == null) {
+                            skipped++;
+                            continue;
+                        }
+                        if (previous.contains(execution, resolvedField)) {
+                            continue;
+                        }
+                        FileSerde.write(output, execution);
+                        checkpoint.advance(execution, resolvedField);
+                        count++;
+                    }
+                }
+            }
+
+            fetcher.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+            client.close();
+        }
+
+        runContext.metric(Counter.of("records", count));
+        runContext.metric(Counter.of("pages", pageCount));
+        if (skipped > 0) {
+            runContext.metric(Counter.of("records.skipped", skipped));
+            runContext.logger().warn("Skipped {} rule executions without a '{}' field", skipped, resolvedField);
+        }
+
+        URI uri = runContext.storage().putFile(tempFile);
+
+        // the checkpoint is only saved once the file is stored, so a failed run exports the same executions again
+        kvStore.put(key, new KVValueAndMetadata(new KVMetadata(null, (Duration) null), Mappers.json().convertValue(checkpoint, new TypeReference<Map<String, Object>>() {})));
+        runContext.logger().info("Exported {} rule executions over {} pages, checkpoint is now {}", count, pageCount, checkpoint.getTimestamp());
+
+        return Output.builder()
+            .uri(uri)
+            .count(count)
+            .skipped(skipped)
+            .checkpoint(checkpoint.getTimestamp())
+            .concurrency(client.concurrency())
+            .build();
+    }
+
+    /**
+     * Fetch every page after the checkpoint, following the cursor returned by each page.
+     * Only the cursor is extracted here; the page body is handed over untouched to the writer.
+     */
+    private static void fetchPages(SiffletClient client, int resolvedPageSize, String since, BlockingQueue<Page> pages) throws Exception {
+        try {
+            String cursor = null;
+            do {
+                StringBuilder path = new StringBuilder("/api/v1/rules/executions?pageSize=").append(resolvedPageSize);
+                if (cursor != null) {
+                    path.append("&cursor=").append(URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+                } else if (since != null) {
+                    path.append("&since=").append(URLEncoder.encode(since, StandardCharsets.UTF_8));
+                }
+
+                HttpResponse<byte[]> response = client.get(path.toString(), "executions.list", null, HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() != 200) {
+                    throw new RuntimeException("Failed to fetch execution history: " + new String(response.body(), StandardCharsets.UTF_8));
+                }
+
+                try {
+                    cursor = JsonFields.readOptionalString(new ByteArrayInputStream(response.body()), "nextCursor");
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to parse execution history response: " + e.getMessage(), e);
+                }
+                pages.put(new Page(response.body()));
+            } while (cursor != null && !cursor.isEmpty());
+        } finally {
+            pages.offer(END);
+        }
+    }
+
+    /**
+     * Wait for the next page, giving up if the fetcher died without being able to queue the end marker.
+     */
+    private static Page take(BlockingQueue<Page> pages, Future<?> fetcher) throws Exception {
+        while (true) {
+            Page page = pages.poll(1, TimeUnit.SECONDS);
+            if (page != null) {
+                return page;
+            }
+            if (fetcher.isDone()) {
+                page = pages.poll();
+                if (page != null) {
+                    return page;
+                }
+                fetcher.get();
+                return END;
+            }
+        }
+    }
+
+    private record Page(byte[] body) {
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "URI",
+            description = "The internal storage URI of the exported executions, one record per execution"
+        )
+        private URI uri;
+
+        @Schema(
+            title = "Count",
+            description = "The number of exported executions"
+        )
+        private Integer count;
+
+        @Schema(
+            title = "Skipped",
+            description = "The number of executions skipped because they have no checkpoint field"
+        )
+        private Integer skipped;
+
+        @Schema(
+            title = "Checkpoint",
+            description = "The timestamp the next run will start from"
+        )
+        private String checkpoint;
+
+        @Schema(
+            title = "Concurrency",
+            description = "The adaptive concurrency limit of the endpoint and the queueing of the task's calls"
+        )
+        private Concurrency concurrency;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private static class HistoryPage {
+        private List<Map<String, Object>> executions;
+        private String nextCursor;
+    }
+
+    /**
+     * The latest exported timestamp, with the IDs of the executions exported at exactly that timestamp
+     * so they are not exported twice when the API returns them again.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private static class Checkpoint {
+        private String timestamp;
+        private Set<String> ids = new HashSet<>();
+
+        boolean contains(Map<String, Object> execution, String field) {
+            Instant value = timestampOf(execution, field);
+            if (timestamp == null || value == null) {
+                return false;
+            }
+
+            int comparison = value.compareTo(parse(timestamp, "checkpoint"));
+            return comparison < 0 || (comparison == 0 && ids != null && ids.contains(String.valueOf(execution.get("id"))));
+        }
+
+        void advance(Map<String, Object> execution, String field) {
+            Instant value = timestampOf(execution, field);
+            if (value == null) {
+                return;
+            }
+
+            int comparison = timestamp == null ? 1 : value.compareTo(parse(timestamp, "checkpoint"));
+            if (comparison > 0) {
+                timestamp = value.toString();
+                ids = new HashSet<>();
+            }
+            if (comparison >= 0) {
+                ids.add(String.valueOf(execution.get("id")));
+            }
+        }
+
+        private static Instant timestampOf(Map<String, Object> execution, String field) {
+            Object value = execution.get(field);
+            return value == null ? null : parse(value.toString(), "field '" + field + "' of execution '" + execution.get("id") + "'");
+        }
+
+        private static Instant parse(String value, String source) {
+            try {
+                return Instant.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid ISO-8601 timestamp '" + value + "' in " + source, e);
+            }
+        }
+    }
+}
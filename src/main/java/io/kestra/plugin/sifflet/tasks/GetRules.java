@@ -0,0 +1,236 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Get Sifflet rules by ID",
+    description = "Look up a batch of rules by ID. Lookups are answered from a snapshot of the rule catalog kept on " +
+        "the worker and refreshed every `catalogTtl` seconds; only rules missing from the snapshot are fetched from the API."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Get a few Sifflet rules",
+            code = {
+                """
+                id: get-sifflet-rules
+                type: io.kestra.plugin.sifflet.tasks.GetRules
+                url: https://api.siffletdata.com
+                apiKey: "{{ secret('SIFFLET_API_KEY') }}"
+                ruleIds:
+                  - "rule-123"
+                  - "rule-456"
+                """
+            }
+        )
+    }
+)
+public class GetRules extends Task implements RunnableTask<GetRules.Output> {
+    @Schema(
+        title = "Sifflet API URL",
+        description = "The base URL for the Sifflet API"
+    )
+    @PluginProperty(dynamic = true)
+    private String url;
+
+    @Schema(
+        title = "API Key",
+        description = "The API key for authentication with Sifflet"
+    )
+    @PluginProperty(dynamic = true)
+    private String apiKey;
+
+    @Schema(
+        title = "Rule IDs",
+        description = "The IDs of the rules to get"
+    )
+    @PluginProperty(dynamic = true)
+    private List<String> ruleIds;
+
+    @Schema(
+        title = "Catalog TTL",
+        description = "The time in seconds after which the local catalog snapshot is refreshed from the API"
+    )
+    @PluginProperty(dynamic = true)
+    @Builder.Default
+    private Integer catalogTtl = 3600;
+
+    @Schema(
+        title = "Page Size",
+        description = "Number of rules to fetch per page when refreshing the catalog"
+    )
+    @PluginProperty(dynamic = true)
+    @Builder.Default
+    private Integer pageSize = 100;
+
+    @Override
+    public GetRules.Output run(RunContext runContext) throws Exception {
+        String resolvedUrl = runContext.render(url);
+        String resolvedApiKey = runContext.render(apiKey);
+        List<String> resolvedRuleIds = ruleIds != null ? runContext.render(ruleIds) : List.of();
+
+        if (resolvedUrl == null || resolvedUrl.isEmpty()) {
+            throw new IllegalArgumentException("Sifflet API URL must be provided");
+        }
+        if (resolvedApiKey == null || resolvedApiKey.isEmpty()) {
+            throw new IllegalArgumentException("Sifflet API key must be provided");
+        }
+
+        try (SiffletClient client = new SiffletClient(runContext, resolvedUrl, resolvedApiKey, AdaptiveLimiter.Lane.BULK)) {
+            RuleCatalog catalog = RuleCatalog.of(resolvedUrl, resolvedApiKey);
+            if (!resolvedRuleIds.isEmpty()) {
+                refreshCatalog(runContext, client, catalog);
+            }
+
+            List<ListRules.Rule> rules = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            Map<String, Future<Optional<ListRules.Rule>>> misses = new LinkedHashMap<>();
+            int hits = 0;
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            try {
+                // misses are fetched concurrently, the concurrency limit of the client bounds how many at once
+                List<Optional<ListRules.Rule>> found = new ArrayList<>();
+                for (String id : resolvedRuleIds) {
+                    Optional<ListRules.Rule> rule = catalog.get(id);
+                    if (rule.isPresent()) {
+                        hits++;
+                    } else if (!misses.containsKey(id)) {
+                        misses.put(id, executor.submit(() -> fetchRule(client, id)));
+                    }
+                    found.add(rule);
+                }
+
+                List<ListRules.Rule> fetched = new ArrayList<>();
+                for (int i = 0; i < resolvedRuleIds.size(); i++) {
+                    String id = resolvedRuleIds.get(i);
+                    Optional<ListRules.Rule> rule = found.get(i);
+                    if (rule.isEmpty()) {
+                        rule = await(misses.get(id));
+                        rule.ifPresent(fetched::add);
+                    }
+
+                    if (rule.isPresent()) {
+                        rules.add(rule.get());
+                    } else {
+                        missing.add(id);
+                    }
+                }
+                catalog.add(fetched);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            runContext.metric(Counter.of("catalog.hits", hits));
+            runContext.metric(Counter.of("catalog.misses", resolvedRuleIds.size() - hits));
+
+            return Output.builder()
+                .rules(rules)
+                .missing(missing)
+                .concurrency(client.concurrency())
+                .build();
+        }
+    }
+
+    /**
+     * Refresh the catalog snapshot when stale, unless another task is already refreshing it. A failed refresh
+     * only fails the task when there is no snapshot to fall back to: a stale catalog is better than none.
+     */
+    private void refreshCatalog(RunContext runContext, SiffletClient client, RuleCatalog catalog) throws Exception {
+        long start = System.nanoTime();
+        try {
+            boolean refreshed = catalog.refreshIfStale(
+                Duration.ofSeconds(catalogTtl != null ? catalogTtl : 3600),
+                () -> ListRules.fetchAllPages(client, pageSize != null ? pageSize : 100, null)
+            );
+            if (refreshed) {
+                runContext.logger().info(
+                    "Refreshed the rule catalog snapshot with {} rules in {} ms",
+                    catalog.size(), Duration.ofNanos(System.nanoTime() - start).toMillis()
+                );
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException || catalog.isEmpty()) {
+                throw e;
+            }
+            runContext.logger().warn("Failed to refresh the rule catalog snapshot, using the stale one: {}", e.getMessage());
+            runContext.metric(Counter.of("catalog.refresh.failed", 1));
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Optional<ListRules.Rule> fetchRule(SiffletClient client, String id) throws Exception {
+        HttpResponse<String> response = client.get("/api/v1/rules/" + URLEncoder.encode(id, StandardCharsets.UTF_8), "rule.get", null, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        if (response.statusCode() != 200) {
+            throw new RuntimeException("Failed to get rule '" + id + "': " + response.body());
+        }
+
+        try {
+            return Optional.of(Mappers.json().readValue(response.body(), ListRules.Rule.class));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse rule response: " + e.getMessage(), e);
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "Rules",
+            description = "The rules found, in the order of `ruleIds`"
+        )
+        private List<ListRules.Rule> rules;
+
+        @Schema(
+            title = "Missing",
+            description = "The IDs that match no rule"
+        )
+        private List<String> missing;
+
+        @Schema(
+            title = "Concurrency",
+            description = "The adaptive concurrency limit of the endpoint and the queueing of the task's calls"
+        )
+        private Concurrency concurrency;
+    }
+}
@@ -0,0 +1,190 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hedged sending of idempotent requests, to cut the tail latency of slow Sifflet answers.
+ * <p>
+ * Latencies are tracked per endpoint over a sliding window shared by every task of the JVM. A request still
+ * pending after the configured percentile of that window gets a duplicate, and the first answer wins.
+ * Duplicates are paid for with a budget replenished by regular requests, so they never exceed the configured
+ * share of the traffic. A duplicate also needs a free slot of the endpoint's concurrency limit: it is skipped
+ * rather than queued when there is none, so hedging never adds load to a saturated endpoint.
+ */
+class HedgedRequests {
+    private static final Map<String, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
+    private static final int WINDOW_SIZE = 256;
+    private static final int MIN_SAMPLES = 20;
+    private static final long MIN_DELAY_MILLIS = 10;
+    private static final double MAX_TOKENS = 10;
+
+    private HedgedRequests() {
+    }
+
+    static <T> HttpResponse<T> send(RunContext runContext, HttpClient client, HttpRequest request, HttpResponse.BodyHandler<T> handler, String endpoint, Hedging hedging, AdaptiveLimiter limiter, AdaptiveLimiter.Lane lane) throws IOException, InterruptedException {
+        Endpoint stats = ENDPOINTS.computeIfAbsent(request.uri().getAuthority() + " " + endpoint, key -> new Endpoint());
+        stats.replenish(hedging.getBudget() != null ? hedging.getBudget() : 0.1);
+
+        CompletableFuture<HttpResponse<T>> primary = timed(client.sendAsync(request, handler), stats);
+        long delay = stats.delayMillis(hedging.getPercentile() != null ? hedging.getPercentile() : 0.95);
+        if (delay < 0) {
+            return await(primary);
+        }
+
+        try {
+            return primary.get(delay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // the primary is late, hedge it if the budget allows
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            primary.cancel(true);
+            throw e;
+        }
+
+        if (!stats.tryHedge()) {
+            return await(primary);
+        }
+        if (!limiter.tryAcquire(lane)) {
+            stats.refund();
+            runContext.metric(Counter.of("hedge.skipped", 1, "endpoint", endpoint));
+            return await(primary);
+        }
+
+        runContext.metric(Counter.of("hedge.sent", 1, "endpoint", endpoint));
+        long hedgeStart = System.nanoTime();
+        CompletableFuture<HttpResponse<T>> hedge = timed(client.sendAsync(request, handler), stats);
+        // the primary already feeds its latency to the limiter, the hedge only gives its slot back
+        hedge.whenComplete((response, throwable) -> limiter.release(endpoint, System.nanoTime() - hedgeStart, AdaptiveLimiter.Outcome.IGNORED));
+
+        // first successful answer wins, the call only fails if both attempts fail
+        CompletableFuture<CompletableFuture<HttpResponse<T>>> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<HttpResponse<T>> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((response, throwable) -> {
+                if (throwable == null) {
+                    if (!winner.complete(attempt)) {
+                        discard(response);
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(throwable);
+                }
+            });
+        }
+
+        try {
+            CompletableFuture<HttpResponse<T>> first = winner.get();
+            CompletableFuture<HttpResponse<T>> loser = first == primary ? hedge : primary;
+            loser.cancel(true);
+
+            if (first == hedge) {
+                runContext.metric(Counter.of("hedge.won", 1, "endpoint", endpoint));
+            }
+            return first.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            primary.cancel(true);
+            hedge.cancel(true);
+            throw e;
+        }
+    }
+
+    private static <T> CompletableFuture<HttpResponse<T>> timed(CompletableFuture<HttpResponse<T>> attempt, Endpoint stats) {
+        long start = System.nanoTime();
+        attempt.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                stats.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        });
+        return attempt;
+    }
+
+    private static <T> HttpResponse<T> await(CompletableFuture<HttpResponse<T>> attempt) throws IOException, InterruptedException {
+        try {
+            return attempt.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            attempt.cancel(true);
+            throw e;
+        }
+    }
+
+    // a late answer may hold a streamed body, close it so its connection is released
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // nothing more to release
+            }
+        }
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof IOException ioException ? ioException : new IOException(cause.getMessage(), cause);
+    }
+
+    /**
+     * Latency window and hedging budget of an endpoint.
+     */
+    private static class Endpoint {
+        private final long[] latencies = new long[WINDOW_SIZE];
+        private int count;
+        private int next;
+        private double tokens;
+
+        synchronized void record(long latencyMillis) {
+            latencies[next] = latencyMillis;
+            next = (next + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+        }
+
+        /**
+         * The delay after which a request is hedged, or -1 while there are too few samples to tell.
+         */
+        synchronized long delayMillis(double percentile) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(Math.min(Math.max(percentile, 0), 1) * count) - 1;
+            return Math.max(sorted[Math.max(rank, 0)], MIN_DELAY_MILLIS);
+        }
+
+        synchronized void replenish(double budget) {
+            tokens = Math.min(tokens + budget, MAX_TOKENS);
+        }
+
+        synchronized boolean tryHedge() {
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized void refund() {
+            tokens = Math.min(tokens + 1, MAX_TOKENS);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Builder
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(
+    title = "Request hedging",
+    description = "When a read request has not answered after the given percentile of recent latencies, " +
+        "a duplicate request is sent and the first answer wins, the other one is cancelled."
+)
+public class Hedging {
+    @Schema(
+        title = "Percentile",
+        description = "The percentile of recent latencies, between 0 and 1, after which a duplicate request is sent"
+    )
+    @PluginProperty
+    @Builder.Default
+    private Double percentile = 0.95;
+
+    @Schema(
+        title = "Budget",
+        description = "The maximum ratio of duplicate requests to regular requests, capping the extra load put on Sifflet"
+    )
+    @PluginProperty
+    @Builder.Default
+    private Double budget = 0.1;
+}
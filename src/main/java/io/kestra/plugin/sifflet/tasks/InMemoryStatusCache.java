@@ -0,0 +1,74 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Status cache kept in memory, shared by the tasks of a single worker. Claims are taken atomically, so a
+ * single waiter of the worker polls an execution at a time.
+ * <p>
+ * Entries of every endpoint live in one map, bounded to the most recently used ones.
+ */
+class InMemoryStatusCache implements StatusCache {
+    static final int MAX_ENTRIES = 10_000;
+
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final String endpoint;
+
+    InMemoryStatusCache(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public Optional<Entry> get(String executionId) {
+        synchronized (ENTRIES) {
+            return Optional.ofNullable(ENTRIES.get(key(executionId))).map(Entry::copy);
+        }
+    }
+
+    @Override
+    public void put(String executionId, Entry entry) {
+        synchronized (ENTRIES) {
+            ENTRIES.put(key(executionId), entry.copy());
+        }
+    }
+
+    /**
+     * The entry read by the waiter is ignored: the claim is decided on the entry of the map under its lock,
+     * which is what makes it exclusive.
+     */
+    @Override
+    public boolean claim(String executionId, Optional<Entry> current, String poller, Instant now, Duration duration) {
+        synchronized (ENTRIES) {
+            Entry entry = ENTRIES.get(key(executionId));
+            if (entry != null && entry.isClaimedByOther(poller, now)) {
+                return false;
+            }
+
+            Entry claimed = entry != null ? entry.copy() : new Entry();
+            claimed.setPoller(poller);
+            claimed.setClaimedUntil(now.plus(duration).toEpochMilli());
+            ENTRIES.put(key(executionId), claimed);
+            return true;
+        }
+    }
+
+    static int size() {
+        synchronized (ENTRIES) {
+            return ENTRIES.size();
+        }
+    }
+
+    private String key(String executionId) {
+        return endpoint + "/" + executionId;
+    }
+}
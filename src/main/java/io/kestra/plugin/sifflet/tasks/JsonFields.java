@@ -0,0 +1,90 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming extraction of single fields from Sifflet JSON responses.
+ * <p>
+ * Status polls only need one field of the body, so instead of buffering it as a {@link String} and
+ * building a tree, the body is read with a streaming parser that stops at the requested field.
+ * Parser buffers come from a shared pool, as polls may run on virtual threads where
+ * thread-local recycling does not help.
+ */
+final class JsonFields {
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+        .recyclerPool(JsonRecyclerPools.sharedLockFreePool())
+        .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+        .build();
+
+    private JsonFields() {
+    }
+
+    /**
+     * Read the textual value of a top-level field of a JSON object.
+     * <p>
+     * The rest of the body is drained but not parsed, so the underlying connection can be reused.
+     * The stream itself is left open and must be closed by the caller.
+     *
+     * @throws JsonParseException if the body is not a JSON object or the field is missing
+     */
+    static String readString(InputStream body, String field) throws IOException {
+        return find(body, field, true);
+    }
+
+    /**
+     * Same as {@link #readString(InputStream, String)} but returns {@code null} when the field is missing.
+     */
+    static String readOptionalString(InputStream body, String field) throws IOException {
+        return find(body, field, false);
+    }
+
+    private static String find(InputStream body, String field, boolean required) throws IOException {
+        String value = null;
+        boolean found = false;
+
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object");
+            }
+
+            while (!found && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (field.equals(name)) {
+                    value = token == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                    found = true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (!found && required) {
+                throw new JsonParseException(parser, "Missing field '" + field + "'");
+            }
+        }
+
+        drain(body);
+        return value;
+    }
+
+    /**
+     * Read a whole body as text, used for error messages.
+     */
+    static String readText(InputStream body) throws IOException {
+        return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void drain(InputStream body) throws IOException {
+        body.transferTo(OutputStream.nullOutputStream());
+    }
+}
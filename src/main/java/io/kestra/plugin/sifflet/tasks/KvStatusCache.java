@@ -0,0 +1,85 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Status cache stored in the namespace KV store, shared by every worker running flows of the namespace.
+ * <p>
+ * The KV store has no compare-and-set, so claims are best effort: a claim is written then read back, and
+ * waiters racing for an unclaimed execution may poll it at the same time until one of them overwrites the
+ * other. Like the rule state, the cache never fails a task: KV failures are logged and the waiter polls
+ * Sifflet itself. Entries expire one day after their last update.
+ */
+class KvStatusCache implements StatusCache {
+    private static final String KEY_PREFIX = "sifflet_status_";
+    private static final Duration TTL = Duration.ofDays(1);
+
+    private final RunContext runContext;
+    private final String endpoint;
+
+    KvStatusCache(RunContext runContext, String endpoint) {
+        this.runContext = runContext;
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public Optional<Entry> get(String executionId) {
+        try {
+            return kvStore()
+                .getValue(key(executionId))
+                .map(KVValue::value)
+                .map(value -> Mappers.json().convertValue(value, Entry.class));
+        } catch (Exception e) {
+            runContext.logger().warn("Unable to read cached status of execution '{}': {}", executionId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(String executionId, Entry entry) {
+        try {
+            Map<String, Object> value = Mappers.json().convertValue(entry, new TypeReference<>() {});
+            kvStore().put(key(executionId), new KVValueAndMetadata(new KVMetadata(null, TTL), value));
+        } catch (Exception e) {
+            runContext.logger().warn("Unable to cache status of execution '{}': {}", executionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Write the claim then read it back. When the cache cannot be read, the claim is granted so that waiters
+     * fall back to polling Sifflet themselves.
+     */
+    @Override
+    public boolean claim(String executionId, Optional<Entry> current, String poller, Instant now, Duration duration) {
+        if (current.isPresent() && current.get().isClaimedByOther(poller, now)) {
+            return false;
+        }
+
+        Entry claimed = current.map(Entry::copy).orElseGet(Entry::new);
+        claimed.setPoller(poller);
+        claimed.setClaimedUntil(now.plus(duration).toEpochMilli());
+        put(executionId, claimed);
+
+        return get(executionId)
+            .map(entry -> poller.equals(entry.getPoller()))
+            .orElse(true);
+    }
+
+    private KVStore kvStore() {
+        return runContext.namespaceKv(runContext.flowInfo().namespace());
+    }
+
+    private String key(String executionId) {
+        return KEY_PREFIX + endpoint + "_" + executionId.replaceAll("[^a-zA-Z0-9._-]", "_");
+    }
+}
@@ -1,23 +1,41 @@
 package io.kestra.plugin.sifflet.tasks;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
 @SuperBuilder
 @ToString
@@ -40,12 +58,27 @@ import java.util.List;
                 apiKey: "{{ secret('SIFFLET_API_KEY') }}"
                 """
             }
+        ),
+        @Example(
+            title = "List Sifflet rules from several workspaces at once",
+            code = {
+                """
+                id: list-sifflet-rules
+                type: io.kestra.plugin.sifflet.tasks.ListRules
+                workspaceTimeout: 30
+                workspaces:
+                  - name: eu
+                    url: https://eu.siffletdata.com
+                    apiKey: "{{ secret('SIFFLET_EU_API_KEY') }}"
+                  - name: us
+                    url: https://us.siffletdata.com
+                    apiKey: "{{ secret('SIFFLET_US_API_KEY') }}"
+                """
+            }
         )
     }
 )
 public class ListRules extends Task implements RunnableTask<ListRules.Output> {
-    private static final ObjectMapper MAPPER = new ObjectMapper();
-
     @Schema(
         title = "Sifflet API URL",
         description = "The base URL for the Sifflet API"
@@ -76,12 +109,74 @@ public class ListRules extends Task implements RunnableTask<ListRules.Output> {
     @Builder.Default
     private Integer pageNumber = 1;
 
+    @Schema(
+        title = "Fetch All",
+        description = "Whether to fetch every page of the catalog instead of only `pageNumber`. " +
+            "The first page gives the total count, the remaining pages are then fetched in parallel."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean fetchAll = false;
+
+    @Schema(
+        title = "Workspaces",
+        description = "Several Sifflet workspaces to list rules from, each with its own URL and API key. " +
+            "Workspaces are queried concurrently and each rule is tagged with the name of the workspace it comes from. " +
+            "A workspace that fails or times out is reported in `errors` without failing the others. " +
+            "When set, `url` and `apiKey` are ignored."
+    )
+    @PluginProperty(dynamic = true)
+    private List<Workspace> workspaces;
+
+    @Schema(
+        title = "Workspace Timeout",
+        description = "The maximum time in seconds to wait for each workspace when `workspaces` is set"
+    )
+    @PluginProperty(dynamic = true)
+    @Builder.Default
+    private Integer workspaceTimeout = 60;
+
+    @Schema(
+        title = "Hedging",
+        description = "Hedge page fetches: a page slower than usual is requested a second time and the first answer wins"
+    )
+    @PluginProperty
+    private Hedging hedging;
+
+    @Schema(
+        title = "Shards",
+        description = "Write the listed rules to this many files in internal storage instead of returning them in `rules`, " +
+            "so they can be processed in parallel, for example with `ForEachItem` or a subflow per shard. Rules are " +
+            "partitioned by a stable hash of their ID, so a rule always lands in the same shard. Combine with `fetchAll` " +
+            "to shard the whole catalog."
+    )
+    @PluginProperty(dynamic = true)
+    private Integer shards;
+
     @Override
     public ListRules.Output run(RunContext runContext) throws Exception {
-        String resolvedUrl = runContext.render(url);
-        String resolvedApiKey = runContext.render(apiKey);
         Integer resolvedPageSize = pageSize != null ? pageSize : 100;
         Integer resolvedPageNumber = pageNumber != null ? pageNumber : 1;
+        if (shards != null && shards < 1) {
+            throw new IllegalArgumentException("Sifflet shards must be at least 1");
+        }
+
+        Output output = workspaces != null && !workspaces.isEmpty() ?
+            listWorkspaces(runContext, resolvedPageSize, resolvedPageNumber) :
+            listRules(runContext, resolvedPageSize, resolvedPageNumber);
+        if (shards == null) {
+            return output;
+        }
+
+        return output.toBuilder()
+            .rules(null)
+            .shardUris(writeShards(runContext, output.getRules() != null ? output.getRules() : List.of(), shards))
+            .build();
+    }
+
+    private ListRules.Output listRules(RunContext runContext, Integer resolvedPageSize, Integer resolvedPageNumber) throws Exception {
+        String resolvedUrl = runContext.render(url);
+        String resolvedApiKey = runContext.render(apiKey);
 
         if (resolvedUrl == null || resolvedUrl.isEmpty()) {
             throw new IllegalArgumentException("Sifflet API URL must be provided");
@@ -90,27 +185,221 @@ public class ListRules extends Task implements RunnableTask<ListRules.Output> {
             throw new IllegalArgumentException("Sifflet API key must be provided");
         }
 
-        HttpClient client = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(30))
-            .build();
+        try (SiffletClient client = new SiffletClient(runContext, resolvedUrl, resolvedApiKey, hedging, AdaptiveLimiter.Lane.BULK)) {
+            RulesResponse rulesResponse = fetch(client, resolvedPageSize, resolvedPageNumber, null);
+            return Output.builder()
+                .rules(rulesResponse.rules)
+                .totalCount(rulesResponse.totalCount)
+                .pageSize(rulesResponse.pageSize)
+                .pageNumber(rulesResponse.pageNumber)
+                .concurrency(List.of(client.concurrency()))
+                .build();
+        }
+    }
+
+    /**
+     * Query every workspace concurrently on virtual threads and merge their rules.
+     * Each workspace has its own deadline and its failures are isolated from the other workspaces.
+     */
+    private ListRules.Output listWorkspaces(RunContext runContext, Integer resolvedPageSize, Integer resolvedPageNumber) throws Exception {
+        Duration timeout = Duration.ofSeconds(workspaceTimeout != null ? workspaceTimeout : 60);
+
+        Map<String, Future<RulesResponse>> futures = new LinkedHashMap<>();
+        List<WorkspaceError> errors = new ArrayList<>();
+        List<SiffletClient> clients = new ArrayList<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (Workspace workspace : workspaces) {
+                String resolvedUrl = runContext.render(workspace.getUrl());
+                String resolvedApiKey = runContext.render(workspace.getApiKey());
+                String name = workspace.getName() != null ? runContext.render(workspace.getName()) : resolvedUrl;
+
+                if (resolvedUrl == null || resolvedUrl.isEmpty() || resolvedApiKey == null || resolvedApiKey.isEmpty()) {
+                    throw new IllegalArgumentException("Sifflet API URL and API key must be provided for workspace '" + name + "'");
+                }
+                if (futures.containsKey(name)) {
+                    throw new IllegalArgumentException("Duplicate Sifflet workspace name '" + name + "'");
+                }
+
+                SiffletClient client = new SiffletClient(runContext, resolvedUrl, resolvedApiKey, hedging, AdaptiveLimiter.Lane.BULK);
+                clients.add(client);
+                futures.put(name, executor.submit(() -> fetch(client, resolvedPageSize, resolvedPageNumber, timeout)));
+            }
+
+            long deadline = System.nanoTime() + timeout.toNanos();
+            List<Rule> rules = new ArrayList<>();
+            int totalCount = 0;
+            for (Map.Entry<String, Future<RulesResponse>> entry : futures.entrySet()) {
+                String name = entry.getKey();
+                try {
+                    RulesResponse rulesResponse = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (rulesResponse.rules != null) {
+                        rulesResponse.rules.forEach(rule -> rule.setSource(name));
+                        rules.addAll(rulesResponse.rules);
+                    }
+                    totalCount += rulesResponse.totalCount != null ? rulesResponse.totalCount : 0;
+                } catch (TimeoutException e) {
+                    entry.getValue().cancel(true);
+                    errors.add(new WorkspaceError(name, "Timed out after " + timeout.toSeconds() + " seconds"));
+                } catch (ExecutionException e) {
+                    errors.add(new WorkspaceError(name, e.getCause().getMessage()));
+                }
+            }
+
+            for (WorkspaceError error : errors) {
+                runContext.logger().warn("Failed to list rules from workspace '{}': {}", error.getWorkspace(), error.getMessage());
+            }
+            runContext.metric(Counter.of("workspaces.failed", errors.size()));
+
+            if (errors.size() == futures.size()) {
+                throw new RuntimeException("Failed to list rules from every workspace: " +
+                    errors.stream().map(error -> error.getWorkspace() + ": " + error.getMessage()).collect(Collectors.joining(", "))
+                );
+            }
+
+            return Output.builder()
+                .rules(rules)
+                .totalCount(totalCount)
+                .pageSize(resolvedPageSize)
+                .pageNumber(resolvedPageNumber)
+                .errors(errors)
+                .concurrency(clients.stream().map(SiffletClient::concurrency).toList())
+                .build();
+        } finally {
+            executor.shutdownNow();
+            clients.forEach(SiffletClient::close);
+        }
+    }
+
+    /**
+     * Write the rules to one ion file per shard, assigning each rule to the shard of its ID.
+     */
+    private static List<URI> writeShards(RunContext runContext, List<Rule> rules, int shardCount) throws Exception {
+        List<File> files = new ArrayList<>();
+        List<OutputStream> outputs = new ArrayList<>();
+        int[] counts = new int[shardCount];
+        try {
+            for (int shard = 0; shard < shardCount; shard++) {
+                File file = runContext.workingDir().createTempFile(".ion").toFile();
+                files.add(file);
+                outputs.add(new BufferedOutputStream(new FileOutputStream(file)));
+            }
 
-        String uri = String.format("%s/api/v1/rules?pageSize=%s&pageNumber=%s",
-            resolvedUrl,
+            for (Rule rule : rules) {
+                int shard = shardOf(rule.getId(), shardCount);
+                FileSerde.write(outputs.get(shard), rule);
+                counts[shard]++;
+            }
+        } finally {
+            closeAll(outputs);
+        }
+
+        List<URI> uris = new ArrayList<>();
+        for (File file : files) {
+            uris.add(runContext.storage().putFile(file));
+        }
+
+        IntSummaryStatistics stats = Arrays.stream(counts).summaryStatistics();
+        runContext.logger().info("Wrote {} rules to {} shards of {} to {} rules", rules.size(), shardCount, stats.getMin(), stats.getMax());
+        runContext.metric(Counter.of("shards", shardCount));
+        return uris;
+    }
+
+    // every stream is closed even if another one fails to, the first failure is thrown with the others suppressed
+    private static void closeAll(List<OutputStream> outputs) throws IOException {
+        IOException failure = null;
+        for (OutputStream output : outputs) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * The shard of a rule: a CRC32 of its ID, which unlike {@link String#hashCode()} is spread evenly
+     * and stable across Java versions, modulo the number of shards.
+     */
+    static int shardOf(String ruleId, int shardCount) {
+        CRC32 crc = new CRC32();
+        crc.update(String.valueOf(ruleId).getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    private RulesResponse fetch(SiffletClient client, Integer resolvedPageSize, Integer resolvedPageNumber, Duration timeout) throws Exception {
+        if (!Boolean.TRUE.equals(fetchAll)) {
+            return fetchPage(client, resolvedPageSize, resolvedPageNumber, timeout);
+        }
+
+        RulesResponse rulesResponse = new RulesResponse();
+        rulesResponse.rules = fetchAllPages(client, resolvedPageSize, timeout);
+        rulesResponse.totalCount = rulesResponse.rules.size();
+        rulesResponse.pageSize = resolvedPageSize;
+        return rulesResponse;
+    }
+
+    /**
+     * Fetch the whole catalog: the first page gives the total count, the other pages are then fetched
+     * in parallel on virtual threads and merged back in page order. How many pages are in flight at once is
+     * bounded by the adaptive concurrency limit of the client.
+     */
+    static List<Rule> fetchAllPages(SiffletClient client, Integer resolvedPageSize, Duration timeout) throws Exception {
+        RulesResponse first = fetchPage(client, resolvedPageSize, 1, timeout);
+        List<Rule> rules = new ArrayList<>(first.rules != null ? first.rules : List.of());
+        int totalCount = first.totalCount != null ? first.totalCount : rules.size();
+        int pageCount = (totalCount + resolvedPageSize - 1) / resolvedPageSize;
+        if (pageCount <= 1) {
+            return rules;
+        }
+
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sifflet-page-", 0).factory());
+        try {
+            List<Future<RulesResponse>> futures = new ArrayList<>();
+            for (int page = 2; page <= pageCount; page++) {
+                int pageNumber = page;
+                futures.add(executor.submit(() -> fetchPage(client, resolvedPageSize, pageNumber, timeout)));
+            }
+
+            for (Future<RulesResponse> future : futures) {
+                try {
+                    RulesResponse rulesResponse = future.get();
+                    if (rulesResponse.rules != null) {
+                        rules.addAll(rulesResponse.rules);
+                    }
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
+            }
+            return rules;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static RulesResponse fetchPage(SiffletClient client, Integer resolvedPageSize, Integer resolvedPageNumber, Duration timeout) {
+        String path = String.format("/api/v1/rules?pageSize=%s&pageNumber=%s",
             java.net.URLEncoder.encode(resolvedPageSize.toString(), java.nio.charset.StandardCharsets.UTF_8),
             java.net.URLEncoder.encode(resolvedPageNumber.toString(), java.nio.charset.StandardCharsets.UTF_8)
         );
 
-        HttpRequest request = HttpRequest.newBuilder()
-            .uri(URI.create(uri))
-            .header("Authorization", "Bearer " + resolvedApiKey)
-            .header("Content-Type", "application/json")
-            .GET()
-            .build();
-
         HttpResponse<String> response;
         try {
-            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            response = client.get(path, "rules.list", timeout, HttpResponse.BodyHandlers.ofString());
         } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             throw new RuntimeException("Failed to send request to Sifflet API: " + e.getMessage(), e);
         }
 
@@ -119,19 +408,13 @@ public class ListRules extends Task implements RunnableTask<ListRules.Output> {
         }
 
         try {
-            RulesResponse rulesResponse = MAPPER.readValue(response.body(), RulesResponse.class);
-            return Output.builder()
-                .rules(rulesResponse.rules)
-                .totalCount(rulesResponse.totalCount)
-                .pageSize(rulesResponse.pageSize)
-                .pageNumber(rulesResponse.pageNumber)
-                .build();
+            return Mappers.json().readValue(response.body(), RulesResponse.class);
         } catch (Exception e) {
             throw new RuntimeException("Failed to parse rules response: " + e.getMessage(), e);
         }
     }
 
-    @Builder
+    @Builder(toBuilder = true)
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
         @Schema(
@@ -157,6 +440,67 @@ public class ListRules extends Task implements RunnableTask<ListRules.Output> {
             description = "Current page number"
         )
         private Integer pageNumber;
+
+        @Schema(
+            title = "Errors",
+            description = "The workspaces that failed or timed out when `workspaces` is set"
+        )
+        private List<WorkspaceError> errors;
+
+        @Schema(
+            title = "Shard URIs",
+            description = "The internal storage URIs of the shard files when `shards` is set, in shard order"
+        )
+        private List<URI> shardUris;
+
+        @Schema(
+            title = "Concurrency",
+            description = "The adaptive concurrency limit and the queueing of the task's calls for each queried endpoint"
+        )
+        private List<Concurrency> concurrency;
+    }
+
+    @Builder
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Workspace {
+        @Schema(
+            title = "Name",
+            description = "The name used to tag the rules of this workspace, defaults to its URL"
+        )
+        @PluginProperty(dynamic = true)
+        private String name;
+
+        @Schema(
+            title = "Sifflet API URL",
+            description = "The base URL for the Sifflet API of this workspace"
+        )
+        @PluginProperty(dynamic = true)
+        private String url;
+
+        @Schema(
+            title = "API Key",
+            description = "The API key for authentication with this workspace"
+        )
+        @PluginProperty(dynamic = true)
+        private String apiKey;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class WorkspaceError {
+        @Schema(
+            title = "Workspace",
+            description = "The name of the workspace"
+        )
+        private String workspace;
+
+        @Schema(
+            title = "Message",
+            description = "Why the workspace could not be listed"
+        )
+        private String message;
     }
 
     @Data
@@ -168,6 +512,7 @@ public class ListRules extends Task implements RunnableTask<ListRules.Output> {
         private String status;
         private String createdAt;
         private String updatedAt;
+        private String source;
     }
 
     @Data
@@ -0,0 +1,34 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * The object mapper shared by the tasks of the plugin.
+ * <p>
+ * It is created on first use rather than when task classes are loaded, so that loading the plugin on a
+ * worker does not pay for Jackson's initialization, and tasks that never bind objects never pay for it.
+ */
+final class Mappers {
+    private Mappers() {
+    }
+
+    static ObjectMapper json() {
+        return Holder.JSON;
+    }
+
+    /**
+     * A reader of rules, cached as building a reader for each catalog lookup is costly on that hot path.
+     */
+    static ObjectReader rule() {
+        return RuleHolder.READER;
+    }
+
+    private static class Holder {
+        private static final ObjectMapper JSON = new ObjectMapper();
+    }
+
+    private static class RuleHolder {
+        private static final ObjectReader READER = json().readerFor(ListRules.Rule.class);
+    }
+}
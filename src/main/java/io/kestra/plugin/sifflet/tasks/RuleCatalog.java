@@ -0,0 +1,268 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A worker-local snapshot of a Sifflet rule catalog, used to answer lookups by ID without calling the API.
+ * <p>
+ * A snapshot is a single memory-mapped file: a header, an index mapping each rule ID to the offset and length
+ * of its record, then the rules as JSON records. The index is held in memory, so a lookup is a hash map access
+ * followed by reading and parsing a single record. Snapshots survive worker restarts and are shared by every
+ * task of the JVM using the same endpoint and API key. They are kept in {@code kestra-sifflet-catalog} under the
+ * temporary directory, unless the {@value #DIRECTORY_PROPERTY} system property points elsewhere.
+ */
+class RuleCatalog {
+    static final String DIRECTORY_PROPERTY = "kestra.sifflet.catalog.dir";
+    private static final Path DIRECTORY = Path.of(System.getProperty(
+        DIRECTORY_PROPERTY,
+        Path.of(System.getProperty("java.io.tmpdir"), "kestra-sifflet-catalog").toString()
+    ));
+    private static final Map<String, RuleCatalog> CATALOGS = new ConcurrentHashMap<>();
+    private static final int MAGIC = 0x53524331;
+
+    private final Path file;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    private RuleCatalog(String name) {
+        this.file = DIRECTORY.resolve(name + ".catalog");
+    }
+
+    /**
+     * The catalog of an endpoint, loading the snapshot left on disk by a previous run if there is one.
+     */
+    static RuleCatalog of(String url, String apiKey) {
+        return CATALOGS.computeIfAbsent(Endpoints.key(url, apiKey), name -> {
+            RuleCatalog catalog = new RuleCatalog(name);
+            catalog.load();
+            return catalog;
+        });
+    }
+
+    boolean isStale(Duration ttl) {
+        Snapshot current = snapshot;
+        return current == null || current.refreshedAt().plus(ttl).isBefore(Instant.now());
+    }
+
+    boolean isEmpty() {
+        return snapshot == null;
+    }
+
+    Optional<ListRules.Rule> get(String ruleId) throws IOException {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        long entry = current.index().getOrDefault(ruleId, -1L);
+        if (entry < 0) {
+            return Optional.ofNullable(current.added().get(ruleId));
+        }
+
+        byte[] record = new byte[(int) entry];
+        current.data().get((int) (entry >>> 32), record);
+        return Optional.of(Mappers.rule().readValue(record));
+    }
+
+    int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.index().size() + current.added().size();
+    }
+
+    /**
+     * Add rules fetched outside a refresh, such as lookups that missed the snapshot. They are kept in memory
+     * until the next refresh, which brings them into the file.
+     */
+    void add(List<ListRules.Rule> rules) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        for (ListRules.Rule rule : rules) {
+            if (rule.getId() != null) {
+                current.added().put(rule.getId(), rule);
+            }
+        }
+    }
+
+    /**
+     * Replace a stale snapshot with freshly fetched rules. A single caller refreshes at a time: while there is a
+     * snapshot, the other callers keep using it instead of waiting, and only callers finding no snapshot at all
+     * wait for the refresh in progress.
+     *
+     * @return whether this caller refreshed the snapshot
+     */
+    boolean refreshIfStale(Duration ttl, Callable<List<ListRules.Rule>> fetch) throws Exception {
+        if (!isStale(ttl)) {
+            return false;
+        }
+
+        if (snapshot == null) {
+            refreshLock.lockInterruptibly();
+        } else if (!refreshLock.tryLock()) {
+            return false;
+        }
+        try {
+            // another caller may have refreshed it while this one was waiting
+            if (!isStale(ttl)) {
+                return false;
+            }
+            refresh(fetch.call());
+            return true;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Replace the snapshot with the given rules. The snapshot is written aside then moved in place in a single
+     * file, so a concurrent reader or a crash never sees a partial snapshot.
+     */
+    void refresh(List<ListRules.Rule> rules) throws IOException {
+        refreshLock.lock();
+        try {
+            write(rules);
+            snapshot = read(map(file));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void write(List<ListRules.Rule> rules) throws IOException {
+        Files.createDirectories(DIRECTORY);
+        Path dataTemp = Files.createTempFile(DIRECTORY, "catalog", ".data");
+        Path temp = Files.createTempFile(DIRECTORY, "catalog", ".tmp");
+        try {
+            // records are streamed aside, the index is small enough to be built in memory
+            Map<String, Long> index = new HashMap<>();
+            ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+            long dataLength = 0;
+            try (OutputStream data = new BufferedOutputStream(Files.newOutputStream(dataTemp));
+                 DataOutputStream indexOutput = new DataOutputStream(indexBytes)) {
+                for (ListRules.Rule rule : rules) {
+                    if (rule.getId() == null || index.containsKey(rule.getId())) {
+                        continue;
+                    }
+
+                    byte[] id = rule.getId().getBytes(StandardCharsets.UTF_8);
+                    if (id.length > 0xFFFF) {
+                        continue;
+                    }
+                    byte[] record = Mappers.json().writeValueAsBytes(rule);
+                    long entry = entry(dataLength, record.length);
+                    data.write(record);
+                    dataLength += record.length;
+
+                    index.put(rule.getId(), entry);
+                    indexOutput.writeShort(id.length);
+                    indexOutput.write(id);
+                    indexOutput.writeLong(entry);
+                }
+            }
+            if (dataLength > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Rule catalog snapshot exceeds 2GB");
+            }
+
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeLong(Instant.now().toEpochMilli());
+                output.writeInt(index.size());
+                output.writeInt(indexBytes.size());
+                output.writeInt((int) dataLength);
+                indexBytes.writeTo(output);
+                Files.copy(dataTemp, output);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(dataTemp);
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try {
+            snapshot = read(map(file));
+        } catch (IOException | RuntimeException e) {
+            // a corrupted snapshot is simply rebuilt on the next refresh
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Read the header and the index of a snapshot file, checking that every record lies within the data section.
+     */
+    private static Snapshot read(MappedByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a rule catalog snapshot");
+            }
+            Instant refreshedAt = Instant.ofEpochMilli(buffer.getLong());
+            int count = buffer.getInt();
+            int indexLength = buffer.getInt();
+            int dataLength = buffer.getInt();
+            int dataStart = buffer.position() + indexLength;
+            if (dataStart + (long) dataLength != buffer.limit()) {
+                throw new IOException("Truncated rule catalog snapshot");
+            }
+
+            Map<String, Long> index = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                byte[] id = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(id);
+                long entry = buffer.getLong();
+                if ((entry >>> 32) + (int) entry > dataLength) {
+                    throw new IOException("Rule catalog snapshot index does not match its data");
+                }
+                index.put(new String(id, StandardCharsets.UTF_8), entry);
+            }
+
+            ByteBuffer data = buffer.slice(dataStart, dataLength);
+            return new Snapshot(data, index, new ConcurrentHashMap<>(), refreshedAt);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated rule catalog snapshot", e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    // offset and length packed in a single long to keep the index compact
+    private static long entry(long offset, int length) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Rule catalog snapshot exceeds 2GB");
+        }
+        return (offset << 32) | length;
+    }
+
+    private record Snapshot(ByteBuffer data, Map<String, Long> index, Map<String, ListRules.Rule> added, Instant refreshedAt) {
+    }
+}
@@ -0,0 +1,119 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-rule state persisted in the namespace KV store, one entry per rule of an endpoint and API key, so that
+ * rules with the same ID in different Sifflet workspaces do not share their history.
+ * <p>
+ * The store is best effort: the state only drives scheduling decisions, so a missing
+ * namespace or a KV failure is logged and treated as "no history" instead of failing the task.
+ */
+class RuleStateStore {
+    private static final String KEY_PREFIX = "sifflet_rule_";
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final RunContext runContext;
+    private final String endpoint;
+
+    RuleStateStore(RunContext runContext, String endpoint) {
+        this.runContext = runContext;
+        this.endpoint = endpoint;
+    }
+
+    Optional<RuleState> get(String ruleId) {
+        try {
+            return kvStore()
+                .getValue(key(ruleId))
+                .map(KVValue::value)
+                .map(value -> Mappers.json().convertValue(value, RuleState.class));
+        } catch (Exception e) {
+            runContext.logger().warn("Unable to read state for rule '{}': {}", ruleId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    void put(String ruleId, RuleState state) {
+        try {
+            Map<String, Object> value = Mappers.json().convertValue(state, new TypeReference<>() {});
+            kvStore().put(key(ruleId), new KVValueAndMetadata(new KVMetadata(null, (Duration) null), value));
+        } catch (Exception e) {
+            runContext.logger().warn("Unable to save state for rule '{}': {}", ruleId, e.getMessage());
+        }
+    }
+
+    /**
+     * Record a finished run: fold its duration into the rule's exponentially weighted moving average
+     * and keep its result so later runs can reuse it or compare with it.
+     */
+    void recordRun(String ruleId, String executionId, String status, Duration duration, Instant completedAt) {
+        recordRun(ruleId, get(ruleId), executionId, status, duration, completedAt);
+    }
+
+    /**
+     * Record a finished run on top of a state already read for this rule, sparing a second read.
+     */
+    void recordRun(String ruleId, Optional<RuleState> current, String executionId, String status, Duration duration, Instant completedAt) {
+        RuleState state = current.map(RuleState::copy).orElseGet(RuleState::new);
+        long sample = duration.toMillis();
+        Long previous = state.getExpectedDurationMillis();
+
+        state.setExpectedDurationMillis(previous == null ? sample : Math.round(EWMA_ALPHA * sample + (1 - EWMA_ALPHA) * previous));
+        state.setSamples(state.getSamples() == null ? 1 : state.getSamples() + 1);
+        state.setLastExecutionId(executionId);
+        state.setLastStatus(status);
+        state.setLastCompletedAt(completedAt.toEpochMilli());
+
+        put(ruleId, state);
+    }
+
+    private KVStore kvStore() {
+        return runContext.namespaceKv(runContext.flowInfo().namespace());
+    }
+
+    private String key(String ruleId) {
+        return KEY_PREFIX + endpoint + "_" + ruleId.replaceAll("[^a-zA-Z0-9._-]", "_");
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class RuleState {
+        private Long expectedDurationMillis;
+        private Integer samples;
+        private String lastExecutionId;
+        private String lastStatus;
+        private Long lastCompletedAt;
+
+        /**
+         * Whether the last recorded run completed successfully within the given age.
+         */
+        boolean isCompletedWithin(Duration maxAge, Instant now) {
+            return "COMPLETED".equals(lastStatus)
+                && lastExecutionId != null
+                && lastCompletedAt != null
+                && !Instant.ofEpochMilli(lastCompletedAt).isBefore(now.minus(maxAge));
+        }
+
+        RuleState copy() {
+            RuleState copy = new RuleState();
+            copy.setExpectedDurationMillis(expectedDurationMillis);
+            copy.setSamples(samples);
+            copy.setLastExecutionId(lastExecutionId);
+            copy.setLastStatus(lastStatus);
+            copy.setLastCompletedAt(lastCompletedAt);
+            return copy;
+        }
+    }
+}
@@ -1,23 +1,38 @@
 package io.kestra.plugin.sifflet.tasks;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.utils.IdUtils;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
+import java.io.InputStream;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @SuperBuilder
 @ToString
@@ -41,11 +56,54 @@ import java.time.Duration;
                 ruleId: "rule-123"
                 """
             }
+        ),
+        @Example(
+            title = "Run several Sifflet rules, longest expected first",
+            code = {
+                """
+                id: run-sifflet-rules
+                type: io.kestra.plugin.sifflet.tasks.RunRule
+                url: https://api.siffletdata.com
+                apiKey: "{{ secret('SIFFLET_API_KEY') }}"
+                concurrency: 2
+                ruleIds:
+                  - "rule-123"
+                  - "rule-456"
+                  - "rule-789"
+                """
+            }
+        ),
+        @Example(
+            title = "Run a Sifflet rule and only notify when its result changed",
+            full = true,
+            code = {
+                """
+                id: sifflet-monitoring
+                namespace: company.team
+
+                tasks:
+                  - id: run
+                    type: io.kestra.plugin.sifflet.tasks.RunRule
+                    url: https://api.siffletdata.com
+                    apiKey: "{{ secret('SIFFLET_API_KEY') }}"
+                    ruleId: "rule-123"
+                    detectChanges: true
+
+                  - id: on_change
+                    type: io.kestra.plugin.core.flow.If
+                    condition: "{{ outputs.run.changed }}"
+                    then:
+                      - id: notify
+                        type: io.kestra.plugin.core.log.Log
+                        message: "Rule rule-123 is now {{ outputs.run.status }}"
+                """
+            }
         )
     }
 )
 public class RunRule extends Task implements RunnableTask<RunRule.Output> {
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final double FIRST_POLL_RATIO = 0.9;
+    private static final int CLAIM_POLLS = 3;
 
     @Schema(
         title = "Sifflet API URL",
@@ -84,11 +142,89 @@ public class RunRule extends Task implements RunnableTask<RunRule.Output> {
     @Builder.Default
     private Integer ruleTimeout = 3600;
 
+    @Schema(
+        title = "Rule IDs",
+        description = "The IDs of several rules to run in a single task. Rules are started longest-expected first, " +
+            "based on the duration history recorded in the namespace KV store, so that the slowest rules do not end up " +
+            "gating the whole run."
+    )
+    @PluginProperty(dynamic = true)
+    private List<String> ruleIds;
+
+    @Schema(
+        title = "Concurrency",
+        description = "The maximum number of rules executed at the same time when `ruleIds` is set"
+    )
+    @PluginProperty(dynamic = true)
+    @Builder.Default
+    private Integer concurrency = 4;
+
+    @Schema(
+        title = "Maximum result age",
+        description = "When set, a rule whose last successful (`COMPLETED`) run finished less than this many seconds ago " +
+            "is not executed again: the task returns the result of that run instead. The last result of each rule is " +
+            "kept in the namespace KV store."
+    )
+    @PluginProperty(dynamic = true)
+    private Integer maxResultAge;
+
+    @Schema(
+        title = "Hedging",
+        description = "Hedge status checks: a check slower than usual is sent a second time and the first answer wins"
+    )
+    @PluginProperty
+    private Hedging hedging;
+
+    @Schema(
+        title = "Execution ID",
+        description = "The ID of an execution of `ruleId` that is already running, to wait on instead of starting a new one. " +
+            "An attached execution is left running when the task times out or is killed, as other flows may be waiting on it."
+    )
+    @PluginProperty(dynamic = true)
+    private String executionId;
+
+    @Schema(
+        title = "Status cache",
+        description = "Share execution statuses between the tasks waiting on the same execution, so that Sifflet is polled " +
+            "by the task claiming the execution while the others read the status it publishes. `KV` shares them across " +
+            "workers through the namespace KV store on a best effort basis: tasks racing for an execution may poll it at " +
+            "the same time. `MEMORY` shares them between the tasks of a single worker, where exactly one task polls."
+    )
+    @PluginProperty
+    @Builder.Default
+    private StatusCacheType statusCache = StatusCacheType.NONE;
+
+    @Schema(
+        title = "Detect changes",
+        description = "Compare the result of each rule with the previous one recorded in the namespace KV store and report " +
+            "it in the `changed` output, so that downstream tasks can be skipped when nothing changed. No extra API call is made. " +
+            "`changed` is not set when waiting on an attached `executionId`, as attached executions are not recorded."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean detectChanges = false;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final transient CountDownLatch killed = new CountDownLatch(1);
+
+    // threads blocked in a status check, interrupted on kill so that the check does not delay the cancellation
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final transient Set<Thread> polling = new HashSet<>();
+
     @Override
     public RunRule.Output run(RunContext runContext) throws Exception {
         String resolvedUrl = runContext.render(url);
         String resolvedApiKey = runContext.render(apiKey);
-        String resolvedRuleId = runContext.render(ruleId);
+        List<String> resolvedRuleIds = new ArrayList<>();
+        if (ruleId != null) {
+            resolvedRuleIds.add(runContext.render(ruleId));
+        }
+        if (ruleIds != null) {
+            resolvedRuleIds.addAll(runContext.render(ruleIds));
+        }
+        resolvedRuleIds.removeIf(id -> id == null || id.isEmpty());
 
         if (resolvedUrl == null || resolvedUrl.isEmpty()) {
             throw new IllegalArgumentException("Sifflet API URL must be provided");
@@ -96,68 +232,176 @@ public class RunRule extends Task implements RunnableTask<RunRule.Output> {
         if (resolvedApiKey == null || resolvedApiKey.isEmpty()) {
             throw new IllegalArgumentException("Sifflet API key must be provided");
         }
-        if (resolvedRuleId == null || resolvedRuleId.isEmpty()) {
+        if (resolvedRuleIds.isEmpty()) {
             throw new IllegalArgumentException("Sifflet ruleId must be provided");
         }
+        if (executionId != null && resolvedRuleIds.size() > 1) {
+            throw new IllegalArgumentException("Sifflet executionId can only be set with a single ruleId");
+        }
 
-        HttpClient client = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(30))
-            .build();
+        try (SiffletClient client = new SiffletClient(runContext, resolvedUrl, resolvedApiKey, hedging, AdaptiveLimiter.Lane.INTERACTIVE)) {
+            RuleStateStore stateStore = new RuleStateStore(runContext, client.endpointKey());
 
-        HttpRequest request = HttpRequest.newBuilder()
-            .uri(URI.create(resolvedUrl + "/api/v1/rules/" + resolvedRuleId + "/run"))
-            .header("Authorization", "Bearer " + resolvedApiKey)
-            .header("Content-Type", "application/json")
-            .POST(HttpRequest.BodyPublishers.noBody())
-            .build();
+            if (resolvedRuleIds.size() == 1) {
+                String resolvedExecutionId = executionId != null ? runContext.render(executionId) : null;
+                String resolvedRuleId = resolvedRuleIds.getFirst();
+                RuleResult result = runRule(runContext, client, stateStore, resolvedRuleId, stateStore.get(resolvedRuleId), resolvedExecutionId);
+                return Output.builder()
+                    .executionId(result.getExecutionId())
+                    .status(result.getStatus())
+                    .reused(result.getReused())
+                    .changed(result.getChanged())
+                    .results(List.of(result))
+                    .concurrency(client.concurrency())
+                    .build();
+            }
+
+            List<RuleResult> results = runRules(runContext, client, stateStore, resolvedRuleIds);
+            boolean anyFailed = results.stream().anyMatch(result -> "FAILED".equals(result.getStatus()));
+            return Output.builder()
+                .status(anyFailed ? "FAILED" : "COMPLETED")
+                .results(results)
+                .reused(results.stream().allMatch(result -> Boolean.TRUE.equals(result.getReused())))
+                .changed(Boolean.TRUE.equals(detectChanges) ? results.stream().anyMatch(result -> Boolean.TRUE.equals(result.getChanged())) : null)
+                .concurrency(client.concurrency())
+                .build();
+        }
+    }
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() != 200) {
-            throw new RuntimeException("Failed to start rule execution: " + response.body());
+    /**
+     * Run several rules on a bounded pool, starting the longest-expected ones first (LPT scheduling).
+     * Rules without history are started last, in their declared order. Results are returned in declared order.
+     */
+    private List<RuleResult> runRules(RunContext runContext, SiffletClient client, RuleStateStore stateStore, List<String> resolvedRuleIds) throws Exception {
+        Map<String, Optional<RuleStateStore.RuleState>> states = new LinkedHashMap<>();
+        for (String id : resolvedRuleIds) {
+            states.put(id, stateStore.get(id));
         }
+        Map<String, Long> expected = new LinkedHashMap<>();
+        states.forEach((id, state) -> expected.put(id, state.map(RuleStateStore.RuleState::getExpectedDurationMillis).orElse(-1L)));
+        List<String> ordered = new ArrayList<>(expected.keySet());
+        ordered.sort(Comparator.comparing(expected::get).reversed());
 
-        String executionId;
+        runContext.logger().info("Running {} rules, longest expected first: {}", ordered.size(), ordered);
+
+        int poolSize = Math.max(1, Math.min(concurrency != null ? concurrency : 4, ordered.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize, Thread.ofVirtual().name("sifflet-rule-", 0).factory());
         try {
-            executionId = MAPPER.readTree(response.body()).get("executionId").asText();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse response: " + e.getMessage(), e);
+            Map<String, Future<RuleResult>> futures = new LinkedHashMap<>();
+            for (String id : ordered) {
+                futures.put(id, executor.submit(() -> runRule(runContext, client, stateStore, id, states.get(id), null)));
+            }
+
+            List<RuleResult> results = new ArrayList<>();
+            for (String id : resolvedRuleIds) {
+                try {
+                    results.add(futures.get(id).get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Run a rule and wait for its completion, or only wait when attaching to an execution that is already running.
+     */
+    private RuleResult runRule(RunContext runContext, SiffletClient client, RuleStateStore stateStore, String resolvedRuleId, Optional<RuleStateStore.RuleState> state, String attachedExecutionId) throws Exception {
+        if (killed.getCount() == 0) {
+            throw new RuntimeException("Rule execution was killed before rule '" + resolvedRuleId + "' started");
+        }
+
+        if (maxResultAge != null && attachedExecutionId == null) {
+            Optional<RuleStateStore.RuleState> fresh = state
+                .filter(s -> s.isCompletedWithin(Duration.ofSeconds(maxResultAge), Instant.now()));
+            if (fresh.isPresent()) {
+                runContext.logger().info(
+                    "Rule '{}' completed less than {} seconds ago in execution '{}', reusing its result",
+                    resolvedRuleId, maxResultAge, fresh.get().getLastExecutionId()
+                );
+                runContext.metric(Counter.of("rule.reused", 1, "rule", resolvedRuleId));
+                return RuleResult.builder()
+                    .ruleId(resolvedRuleId)
+                    .executionId(fresh.get().getLastExecutionId())
+                    .status(fresh.get().getLastStatus())
+                    .duration(Duration.ZERO)
+                    .reused(true)
+                    .changed(Boolean.TRUE.equals(detectChanges) ? false : null)
+                    .build();
+            }
+        }
+
+        boolean attached = attachedExecutionId != null;
+        String executionId = attached ? attachedExecutionId : startExecution(client, resolvedRuleId);
+        if (attached) {
+            runContext.logger().info("Waiting on running execution '{}' of rule '{}'", executionId, resolvedRuleId);
         }
 
         long startTime = System.currentTimeMillis();
         long timeoutMillis = ruleTimeout * 1000L;
+        long pollingMillis = pollingInterval * 1000L;
+        StatusCache cache = statusCache(runContext, client);
+        String owner = IdUtils.create();
+
+        // the first poll is deferred towards the expected completion time, later ones use the regular interval
+        long nextPollMillis = state
+            .filter(s -> !attached)
+            .map(RuleStateStore.RuleState::getExpectedDurationMillis)
+            .map(expected -> (long) (expected * FIRST_POLL_RATIO))
+            .map(delay -> Math.min(Math.max(delay, pollingMillis), timeoutMillis))
+            .orElse(pollingMillis);
+
         boolean completed = false;
         String status = null;
         Exception pollingException = null;
         while (!completed) {
-            if (System.currentTimeMillis() - startTime > timeoutMillis) {
-                throw new RuntimeException("Rule execution timed out after " + ruleTimeout + " seconds");
+            long remainingMillis = timeoutMillis - (System.currentTimeMillis() - startTime);
+            if (remainingMillis < 0) {
+                throw new RuntimeException("Rule execution timed out after " + ruleTimeout + " seconds, " + stopExecution(runContext, client, executionId, attached));
             }
+
+            // wait on the kill signal rather than sleeping, so a kill or an interrupt cancels the remote execution at once
+            boolean interrupted = false;
+            boolean wasKilled;
             try {
-                Thread.sleep(pollingInterval * 1000L);
+                wasKilled = killed.await(Math.min(nextPollMillis, remainingMillis + 1), TimeUnit.MILLISECONDS);
             } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Polling interrupted while waiting for rule execution", ie);
+                interrupted = true;
+                wasKilled = true;
             }
-            HttpRequest statusRequest = HttpRequest.newBuilder()
-                .uri(URI.create(resolvedUrl + "/api/v1/rules/executions/" + executionId + "/status"))
-                .header("Authorization", "Bearer " + resolvedApiKey)
-                .header("Content-Type", "application/json")
-                .GET()
-                .build();
-            HttpResponse<String> statusResponse;
-            try {
-                statusResponse = client.send(statusRequest, HttpResponse.BodyHandlers.ofString());
-            } catch (Exception e) {
-                pollingException = e;
-                break;
-            }
-            if (statusResponse.statusCode() != 200) {
-                throw new RuntimeException("Failed to check rule execution status: " + statusResponse.body());
+            if (wasKilled) {
+                String report = stopExecution(runContext, client, executionId, attached);
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new RuntimeException("Rule execution was killed while waiting for completion, " + report);
             }
+            nextPollMillis = pollingMillis;
+            boolean pollInterrupted = false;
             try {
-                status = MAPPER.readTree(statusResponse.body()).get("status").asText();
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to parse response: " + e.getMessage(), e);
+                status = pollStatus(runContext, client, cache, executionId, owner, Duration.ofMillis(pollingMillis));
+            } catch (StatusUnavailableException e) {
+                // a check aborted by a kill may surface as an I/O failure
+                if (killed.getCount() > 0) {
+                    pollingException = (Exception) e.getCause();
+                    break;
+                }
+            } catch (InterruptedException e) {
+                pollInterrupted = true;
+            }
+            // a kill or an interrupt during the check takes the same cancellation path as one during the wait
+            if (pollInterrupted || killed.getCount() == 0) {
+                String report = stopExecution(runContext, client, executionId, attached);
+                if (pollInterrupted && killed.getCount() > 0) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new RuntimeException("Rule execution was killed while waiting for completion, " + report);
             }
             if ("COMPLETED".equals(status) || "FAILED".equals(status)) {
                 completed = true;
@@ -166,13 +410,193 @@ public class RunRule extends Task implements RunnableTask<RunRule.Output> {
         if (pollingException != null) {
             throw new RuntimeException("Polling failed: " + pollingException.getMessage(), pollingException);
         }
+
+        Duration duration = Duration.ofMillis(System.currentTimeMillis() - startTime);
+        if (!attached) {
+            // the start of an attached execution is unknown, its duration would skew the expected one
+            stateStore.recordRun(resolvedRuleId, state, executionId, status, duration, Instant.now());
+        }
+
+        // attached executions are not recorded, so comparing them with the state would report a change on every run
+        Boolean changed = null;
+        if (Boolean.TRUE.equals(detectChanges) && !attached) {
+            // compared with the state read before the run, so this costs no extra call to Sifflet or the KV store
+            changed = !Objects.equals(status, state.map(RuleStateStore.RuleState::getLastStatus).orElse(null));
+            runContext.metric(Counter.of("rule.result", 1, "changed", String.valueOf(changed)));
+            if (!changed) {
+                runContext.logger().info("Rule '{}' result is unchanged since its previous run", resolvedRuleId);
+            }
+        }
+
         runContext.metric(Counter.of("rule.status", 1, "status", status));
-        return Output.builder()
+        runContext.metric(Timer.of("rule.duration", duration, "rule", resolvedRuleId));
+        return RuleResult.builder()
+            .ruleId(resolvedRuleId)
             .executionId(executionId)
             .status(status)
+            .duration(duration)
+            .reused(false)
+            .changed(changed)
             .build();
     }
 
+    private static String startExecution(SiffletClient client, String resolvedRuleId) throws Exception {
+        HttpResponse<InputStream> response = client.post("/api/v1/rules/" + resolvedRuleId + "/run", "execution.start", null, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new RuntimeException("Failed to start rule execution: " + JsonFields.readText(body));
+            }
+            String executionId;
+            try {
+                executionId = JsonFields.readString(body, "executionId");
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to parse response: " + e.getMessage(), e);
+            }
+            if (executionId == null || executionId.isBlank()) {
+                throw new RuntimeException("Failed to start rule execution: Sifflet returned no execution ID for rule '" + resolvedRuleId + "'");
+            }
+            return executionId;
+        }
+    }
+
+    private StatusCache statusCache(RunContext runContext, SiffletClient client) {
+        return switch (statusCache != null ? statusCache : StatusCacheType.NONE) {
+            case NONE -> null;
+            case KV -> new KvStatusCache(runContext, client.endpointKey());
+            case MEMORY -> new InMemoryStatusCache(client.endpointKey());
+        };
+    }
+
+    /**
+     * Check the status of an execution, letting {@link #kill()} interrupt the check.
+     */
+    private String pollStatus(RunContext runContext, SiffletClient client, StatusCache cache, String executionId, String owner, Duration pollingInterval) throws Exception {
+        Thread current = Thread.currentThread();
+        synchronized (polling) {
+            if (killed.getCount() == 0) {
+                throw new InterruptedException();
+            }
+            polling.add(current);
+        }
+        try {
+            return checkStatus(runContext, client, cache, executionId, owner, pollingInterval);
+        } finally {
+            synchronized (polling) {
+                polling.remove(current);
+                // a kill that raced with the end of the check must not interrupt the cancellation request
+                if (killed.getCount() == 0) {
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+
+    /**
+     * Check the status of an execution. With a status cache, Sifflet is only polled by the waiters holding a
+     * claim on the execution; the other waiters return the last published status, which may still be unknown.
+     *
+     * @throws StatusUnavailableException when Sifflet could not be reached
+     */
+    private static String checkStatus(RunContext runContext, SiffletClient client, StatusCache cache, String executionId, String owner, Duration pollingInterval) throws Exception {
+        if (cache == null) {
+            return fetchStatus(client, executionId);
+        }
+
+        Instant now = Instant.now();
+        Optional<StatusCache.Entry> cached = cache.get(executionId);
+        String cachedStatus = cached.map(StatusCache.Entry::getStatus).orElse(null);
+        boolean terminal = "COMPLETED".equals(cachedStatus) || "FAILED".equals(cachedStatus);
+
+        // a claim outlives a few missed polls, so a slow poller is not replaced at once
+        if (terminal || !cache.claim(executionId, cached, owner, now, pollingInterval.multipliedBy(CLAIM_POLLS))) {
+            runContext.metric(Counter.of("status.checks", 1, "source", "cache"));
+            return cachedStatus;
+        }
+
+        String status = fetchStatus(client, executionId);
+        runContext.metric(Counter.of("status.checks", 1, "source", "api"));
+        cache.put(executionId, new StatusCache.Entry(status, now.toEpochMilli(), owner, now.plus(pollingInterval.multipliedBy(CLAIM_POLLS)).toEpochMilli()));
+        return status;
+    }
+
+    private static String fetchStatus(SiffletClient client, String executionId) throws Exception {
+        HttpResponse<InputStream> statusResponse;
+        try {
+            statusResponse = client.get("/api/v1/rules/executions/" + executionId + "/status", "execution.status", null, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new StatusUnavailableException(e);
+        }
+        try (InputStream body = statusResponse.body()) {
+            if (statusResponse.statusCode() != 200) {
+                throw new RuntimeException("Failed to check rule execution status: " + JsonFields.readText(body));
+            }
+            try {
+                return JsonFields.readString(body, "status");
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to parse response: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void kill() {
+        synchronized (polling) {
+            killed.countDown();
+            polling.forEach(Thread::interrupt);
+        }
+    }
+
+    /**
+     * Ask Sifflet to cancel a running execution, so it stops consuming warehouse and Sifflet capacity.
+     *
+     * @return whether Sifflet acknowledged the cancellation
+     */
+    private boolean cancelExecution(RunContext runContext, SiffletClient client, String executionId) {
+        boolean cancelled;
+        try {
+            HttpResponse<String> response = client.post("/api/v1/rules/executions/" + executionId + "/cancel", "execution.cancel", Duration.ofSeconds(30), HttpResponse.BodyHandlers.ofString());
+            cancelled = response.statusCode() / 100 == 2;
+            if (!cancelled) {
+                runContext.logger().warn("Failed to cancel rule execution '{}': {}", executionId, response.body());
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            runContext.logger().warn("Failed to cancel rule execution '{}': {}", executionId, e.getMessage());
+            cancelled = false;
+        }
+
+        if (cancelled) {
+            runContext.logger().info("Cancelled rule execution '{}'", executionId);
+        }
+        runContext.metric(Counter.of("rule.cancel", 1, "success", String.valueOf(cancelled)));
+        return cancelled;
+    }
+
+    /**
+     * Cancel an execution started by this task; an attached execution is left running for its other waiters.
+     *
+     * @return what happened to the remote execution, for error messages
+     */
+    private String stopExecution(RunContext runContext, SiffletClient client, String executionId, boolean attached) {
+        if (attached) {
+            return "remote execution was left running";
+        }
+        return cancelExecution(runContext, client, executionId) ? "remote execution was cancelled" : "remote execution could not be cancelled";
+    }
+
+    /**
+     * Sifflet could not be reached to check the status of an execution.
+     */
+    private static class StatusUnavailableException extends Exception {
+        StatusUnavailableException(Exception cause) {
+            super(cause);
+        }
+    }
+
     @Builder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
@@ -187,6 +611,71 @@ public class RunRule extends Task implements RunnableTask<RunRule.Output> {
             description = "The final status of the rule execution"
         )
         private String status;
+
+        @Schema(
+            title = "Results",
+            description = "The result of each rule execution"
+        )
+        private List<RuleResult> results;
+
+        @Schema(
+            title = "Reused",
+            description = "Whether the result comes from a previous run that is still within `maxResultAge`, " +
+                "for every rule when several are run; each result tells whether its own rule was reused"
+        )
+        private Boolean reused;
+
+        @Schema(
+            title = "Changed",
+            description = "Whether the result of any rule differs from its previous run, only set when `detectChanges` is enabled"
+        )
+        private Boolean changed;
+
+        @Schema(
+            title = "Concurrency",
+            description = "The adaptive concurrency limit of the endpoint and the queueing of the task's calls"
+        )
+        private Concurrency concurrency;
+    }
+
+    @Builder
+    @Getter
+    public static class RuleResult {
+        @Schema(
+            title = "Rule ID",
+            description = "The ID of the rule"
+        )
+        private String ruleId;
+
+        @Schema(
+            title = "Execution ID",
+            description = "The ID of the rule execution"
+        )
+        private String executionId;
+
+        @Schema(
+            title = "Status",
+            description = "The final status of the rule execution"
+        )
+        private String status;
+
+        @Schema(
+            title = "Duration",
+            description = "The time between the start of the execution and its completion"
+        )
+        private Duration duration;
+
+        @Schema(
+            title = "Reused",
+            description = "Whether the result comes from a previous run that is still within `maxResultAge`"
+        )
+        private Boolean reused;
+
+        @Schema(
+            title = "Changed",
+            description = "Whether the result of the rule differs from its previous run, only set when `detectChanges` is enabled"
+        )
+        private Boolean changed;
     }
 
     @Data
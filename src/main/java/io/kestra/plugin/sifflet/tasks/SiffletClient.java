@@ -0,0 +1,151 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The HTTP calls of a task run against one Sifflet endpoint.
+ * <p>
+ * Every request of the tasks goes through here, so authentication headers and request policies such as
+ * hedging of idempotent reads and the adaptive concurrency limit are applied the same way everywhere.
+ * The calls of a client wait for the limit in the lane of the task that made it, so that latency-sensitive
+ * tasks get ahead of bulk ones. The tasks report the concurrency seen by their client in their output, and
+ * closing the client reports the time spent waiting in its lane as a metric.
+ */
+class SiffletClient implements AutoCloseable {
+    private final RunContext runContext;
+    private final String url;
+    private final String apiKey;
+    private final Hedging hedging;
+    private final AdaptiveLimiter limiter;
+    private final AdaptiveLimiter.Lane lane;
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+
+    SiffletClient(RunContext runContext, String url, String apiKey, Hedging hedging, AdaptiveLimiter.Lane lane) {
+        this.runContext = runContext;
+        this.url = url;
+        this.apiKey = apiKey;
+        this.hedging = hedging;
+        this.lane = lane;
+        this.limiter = AdaptiveLimiter.of(url, apiKey);
+    }
+
+    SiffletClient(RunContext runContext, String url, String apiKey, AdaptiveLimiter.Lane lane) {
+        this(runContext, url, apiKey, null, lane);
+    }
+
+    /**
+     * A key identifying the endpoint and API key of this client, safe to use in cache and store keys.
+     */
+    String endpointKey() {
+        return Endpoints.key(url, apiKey);
+    }
+
+    /**
+     * Send an idempotent GET request, hedged when hedging is enabled.
+     *
+     * @param endpoint a stable name of the called endpoint, used for latency tracking and metrics
+     * @param timeout the request timeout, or {@code null} for none
+     */
+    <T> HttpResponse<T> get(String path, String endpoint, Duration timeout, HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = request(path).GET();
+        if (timeout != null) {
+            builder.timeout(timeout);
+        }
+        HttpRequest request = builder.build();
+
+        if (hedging == null) {
+            return limited(endpoint, () -> httpClient().send(request, handler));
+        }
+        return limited(endpoint, () -> HedgedRequests.send(runContext, httpClient(), request, handler, endpoint, hedging, limiter, lane));
+    }
+
+    /**
+     * Send a POST request without body. POST requests are never hedged as they are not idempotent.
+     *
+     * @param endpoint a stable name of the called endpoint, used for latency tracking
+     */
+    <T> HttpResponse<T> post(String path, String endpoint, Duration timeout, HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = request(path).POST(HttpRequest.BodyPublishers.noBody());
+        if (timeout != null) {
+            builder.timeout(timeout);
+        }
+
+        HttpRequest request = builder.build();
+        return limited(endpoint, () -> httpClient().send(request, handler));
+    }
+
+    /**
+     * The current concurrency limit of the endpoint and the deepest queue the calls of this client waited behind.
+     */
+    Concurrency concurrency() {
+        return Concurrency.builder()
+            .endpoint(URI.create(url).getAuthority())
+            .lane(lane.name().toLowerCase())
+            .limit(limiter.limit())
+            .queueDepth((int) maxQueueDepth.get())
+            .build();
+    }
+
+    @Override
+    public void close() {
+        runContext.metric(Timer.of("lane.wait", Duration.ofNanos(waitNanos.sum()), "endpoint", URI.create(url).getAuthority(), "lane", lane.name().toLowerCase()));
+    }
+
+    /**
+     * Run a call within the adaptive concurrency limit, feeding its latency and outcome back to the limiter.
+     */
+    private <T> HttpResponse<T> limited(String endpoint, Call<T> call) throws IOException, InterruptedException {
+        AdaptiveLimiter.Permit permit = limiter.acquire(lane);
+        waitNanos.add(permit.waitNanos());
+        maxQueueDepth.accumulate(permit.queueDepth());
+
+        long start = System.nanoTime();
+        AdaptiveLimiter.Outcome outcome = AdaptiveLimiter.Outcome.THROTTLED;
+        try {
+            HttpResponse<T> response = call.send();
+            if (response.statusCode() != 429 && response.statusCode() != 503) {
+                outcome = AdaptiveLimiter.Outcome.SUCCESS;
+            }
+            return response;
+        } catch (InterruptedException e) {
+            outcome = AdaptiveLimiter.Outcome.IGNORED;
+            throw e;
+        } finally {
+            limiter.release(endpoint, System.nanoTime() - start, outcome);
+        }
+    }
+
+    // one HTTP client for the JVM, created on first call, so connections are pooled across tasks
+    private static HttpClient httpClient() {
+        return HttpClientHolder.CLIENT;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder()
+            .uri(URI.create(url + path))
+            .header("Authorization", "Bearer " + apiKey)
+            .header("Content-Type", "application/json");
+    }
+
+    private static class HttpClientHolder {
+        private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        HttpResponse<T> send() throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,55 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Status of rule executions shared by the tasks waiting on them, possibly on different workers, so that
+ * Sifflet is polled about once per execution rather than once per waiter. A cache is scoped to an endpoint
+ * and API key, so executions of different Sifflet workspaces never share a status.
+ * <p>
+ * Waiters claim the polling of an execution: the poller publishes the status at each poll and renews its
+ * claim, the other waiters only read the published status. A claim that is not renewed expires, letting
+ * another waiter take over the polling. Whether a claim is exclusive depends on the implementation.
+ */
+interface StatusCache {
+    Optional<Entry> get(String executionId);
+
+    void put(String executionId, Entry entry);
+
+    /**
+     * Claim the polling of an execution for the given waiter, or renew its claim.
+     *
+     * @param current the entry the waiter just read with {@link #get(String)}, so that it is not read again
+     * @return whether the waiter should poll Sifflet
+     */
+    boolean claim(String executionId, Optional<Entry> current, String poller, Instant now, Duration duration);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    class Entry {
+        private String status;
+        private Long checkedAt;
+        private String poller;
+        private Long claimedUntil;
+
+        boolean isClaimedByOther(String poller, Instant now) {
+            return this.poller != null
+                && !this.poller.equals(poller)
+                && claimedUntil != null
+                && claimedUntil > now.toEpochMilli();
+        }
+
+        Entry copy() {
+            return new Entry(status, checkedAt, poller, claimedUntil);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.kestra.plugin.sifflet.tasks;
+
+/**
+ * Where the status of rule executions is shared between the tasks waiting on them.
+ */
+public enum StatusCacheType {
+    /**
+     * Every task polls Sifflet itself.
+     */
+    NONE,
+    /**
+     * Shared through the namespace KV store, across workers.
+     */
+    KV,
+    /**
+     * Shared in memory, between the tasks of a single worker.
+     */
+    MEMORY
+}
@@ -0,0 +1,167 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class AdaptiveLimiterTest {
+    private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final String ENDPOINT = "execution.status";
+
+    @Test
+    void growsOnSuccess() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter();
+        int initial = limiter.limit();
+
+        for (int i = 0; i < 200; i++) {
+            limiter.acquire(AdaptiveLimiter.Lane.INTERACTIVE);
+            limiter.release(ENDPOINT, LATENCY, AdaptiveLimiter.Outcome.SUCCESS);
+        }
+
+        assertThat(limiter.limit(), greaterThan(initial));
+        assertThat(limiter.limit(), lessThanOrEqualTo(AdaptiveLimiter.MAX_LIMIT));
+    }
+
+    @Test
+    void backsOffWhenThrottled() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter();
+        int initial = limiter.limit();
+
+        limiter.acquire(AdaptiveLimiter.Lane.INTERACTIVE);
+        limiter.release(ENDPOINT, LATENCY, AdaptiveLimiter.Outcome.THROTTLED);
+        assertThat(limiter.limit(), is(initial / 2));
+
+        // throttled calls from the same round trip only count once
+        limiter.acquire(AdaptiveLimiter.Lane.INTERACTIVE);
+        limiter.release(ENDPOINT, LATENCY, AdaptiveLimiter.Outcome.THROTTLED);
+        assertThat(limiter.limit(), is(initial / 2));
+    }
+
+    @Test
+    void backsOffWhenLatencyDegrades() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter();
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire(AdaptiveLimiter.Lane.INTERACTIVE);
+            limiter.release(ENDPOINT, LATENCY, AdaptiveLimiter.Outcome.SUCCESS);
+        }
+        int before = limiter.limit();
+
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire(AdaptiveLimiter.Lane.INTERACTIVE);
+            limiter.release(ENDPOINT, LATENCY * 10, AdaptiveLimiter.Outcome.SUCCESS);
+        }
+
+        assertThat(limiter.limit(), lessThan(before));
+    }
+
+    @Test
+    void slowEndpointsDoNotLookLikeCongestion() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter();
+        int initial = limiter.limit();
+
+        // fast status checks interleaved with page fetches that are steadily ten times slower
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire(AdaptiveLimiter.Lane.INTERACTIVE);
+            limiter.release(ENDPOINT, LATENCY, AdaptiveLimiter.Outcome.SUCCESS);
+            limiter.acquire(AdaptiveLimiter.Lane.BULK);
+            limiter.release("rules.list", LATENCY * 10, AdaptiveLimiter.Outcome.SUCCESS);
+        }
+
+        assertThat(limiter.limit(), greaterThan(initial));
+    }
+
+    @Test
+    void blocksOverTheLimit() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter();
+        int limit = limiter.limit();
+        for (int i = 0; i < limit; i++) {
+            limiter.acquire(AdaptiveLimiter.Lane.INTERACTIVE);
+        }
+
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread.ofVirtual().start(() -> {
+            try {
+                limiter.acquire(AdaptiveLimiter.Lane.INTERACTIVE);
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThat(acquired.await(200, TimeUnit.MILLISECONDS), is(false));
+        limiter.release(ENDPOINT, LATENCY, AdaptiveLimiter.Outcome.IGNORED);
+        assertThat(acquired.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void tryAcquireNeverWaits() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter();
+        int limit = limiter.limit();
+        for (int i = 0; i < limit - 1; i++) {
+            limiter.acquire(AdaptiveLimiter.Lane.INTERACTIVE);
+        }
+
+        assertThat(limiter.tryAcquire(AdaptiveLimiter.Lane.INTERACTIVE), is(true));
+        assertThat(limiter.tryAcquire(AdaptiveLimiter.Lane.INTERACTIVE), is(false));
+
+        limiter.release(ENDPOINT, LATENCY, AdaptiveLimiter.Outcome.IGNORED);
+        assertThat(limiter.tryAcquire(AdaptiveLimiter.Lane.BULK), is(true));
+    }
+
+    @Test
+    void interactiveLaneGetsAheadOfBulk() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter();
+        int limit = limiter.limit();
+        for (int i = 0; i < limit; i++) {
+            limiter.acquire(AdaptiveLimiter.Lane.INTERACTIVE);
+        }
+
+        // queue bulk calls first, then as many interactive ones
+        List<AdaptiveLimiter.Lane> granted = Collections.synchronizedList(new ArrayList<>());
+        List<AdaptiveLimiter.Permit> permits = Collections.synchronizedList(new ArrayList<>());
+        for (AdaptiveLimiter.Lane lane : List.of(AdaptiveLimiter.Lane.BULK, AdaptiveLimiter.Lane.INTERACTIVE)) {
+            for (int i = 0; i < 4; i++) {
+                Thread.ofVirtual().start(() -> {
+                    try {
+                        permits.add(limiter.acquire(lane));
+                        granted.add(lane);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            await(() -> limiter.queueDepth(lane) == 4);
+        }
+
+        // free one slot at a time, so that the grant order can be observed
+        for (int i = 1; i <= 8; i++) {
+            limiter.release(ENDPOINT, LATENCY, AdaptiveLimiter.Outcome.IGNORED);
+            int expected = i;
+            await(() -> granted.size() == expected);
+        }
+
+        List<AdaptiveLimiter.Lane> firstFive = granted.subList(0, 5);
+        assertThat(firstFive.stream().filter(lane -> lane == AdaptiveLimiter.Lane.INTERACTIVE).count(), is(4L));
+        assertThat(firstFive, hasItem(AdaptiveLimiter.Lane.BULK));
+        assertThat(permits.stream().mapToInt(AdaptiveLimiter.Permit::queueDepth).max().orElse(0), is(4));
+        assertThat(permits.stream().allMatch(permit -> permit.waitNanos() > 0), is(true));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest
+class ExportExecutionHistoryTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private MockWebServer mockWebServer;
+    private ObjectMapper objectMapper;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        baseUrl = "http://localhost:" + mockWebServer.getPort();
+        objectMapper = new ObjectMapper();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testIncrementalExport() throws Exception {
+        // First run: two pages linked by a cursor
+        mockWebServer.enqueue(page(List.of(execution("exec-1", "2024-02-26T10:00:00Z"), execution("exec-2", "2024-02-26T11:00:00Z")), "cursor-2"));
+        mockWebServer.enqueue(page(List.of(execution("exec-3", "2024-02-26T12:00:00Z")), null));
+        // Second run: the last exported execution is returned again along with a new one
+        mockWebServer.enqueue(page(List.of(execution("exec-3", "2024-02-26T12:00:00Z"), execution("exec-4", "2024-02-26T13:00:00Z")), null));
+
+        ExportExecutionHistory task = ExportExecutionHistory.builder()
+            .id(IdUtils.create())
+            .type(ExportExecutionHistory.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .pageSize(2)
+            .build();
+
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+        ExportExecutionHistory.Output first = task.run(runContext);
+
+        assertThat(first.getCount(), is(3));
+        assertThat(first.getCheckpoint(), is("2024-02-26T12:00:00Z"));
+        assertThat(first.getUri(), is(notNullValue()));
+        assertThat(mockWebServer.takeRequest().getPath(), is("/api/v1/rules/executions?pageSize=2"));
+        assertThat(mockWebServer.takeRequest().getPath(), is("/api/v1/rules/executions?pageSize=2&cursor=cursor-2"));
+
+        ExportExecutionHistory.Output second = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+
+        assertThat(second.getCount(), is(1));
+        assertThat(second.getCheckpoint(), is("2024-02-26T13:00:00Z"));
+        assertThat(mockWebServer.takeRequest().getPath(), is("/api/v1/rules/executions?pageSize=2&since=2024-02-26T12%3A00%3A00Z"));
+    }
+
+    @Test
+    void testExecutionsWithoutCheckpointFieldAreSkipped() throws Exception {
+        Map<String, Object> undated = new HashMap<>(execution("exec-2", "2024-02-26T11:00:00Z"));
+        undated.remove("updatedAt");
+        mockWebServer.enqueue(page(List.of(execution("exec-1", "2024-02-26T10:00:00Z"), undated), null));
+        mockWebServer.enqueue(page(List.of(undated), null));
+
+        ExportExecutionHistory task = ExportExecutionHistory.builder()
+            .id(IdUtils.create())
+            .type(ExportExecutionHistory.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .build();
+
+        ExportExecutionHistory.Output first = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+        assertThat(first.getCount(), is(1));
+        assertThat(first.getSkipped(), is(1));
+        assertThat(first.getCheckpoint(), is("2024-02-26T10:00:00Z"));
+
+        ExportExecutionHistory.Output second = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+        assertThat(second.getCount(), is(0));
+        assertThat(second.getSkipped(), is(1));
+    }
+
+    @Test
+    void testInvalidCheckpointField() throws Exception {
+        mockWebServer.enqueue(page(List.of(execution("exec-1", "yesterday")), null));
+
+        ExportExecutionHistory task = ExportExecutionHistory.builder()
+            .id(IdUtils.create())
+            .type(ExportExecutionHistory.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .build();
+
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+        Exception exception = assertThrows(Exception.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("field 'updatedAt' of execution 'exec-1'"));
+    }
+
+    @Test
+    void testApiError() throws Exception {
+        mockWebServer.enqueue(page(List.of(execution("exec-1", "2024-02-26T10:00:00Z")), "cursor-2"));
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(500)
+            .setBody("Internal Server Error"));
+
+        ExportExecutionHistory task = ExportExecutionHistory.builder()
+            .id(IdUtils.create())
+            .type(ExportExecutionHistory.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .build();
+
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+        Exception exception = assertThrows(Exception.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("Failed to fetch execution history"));
+    }
+
+    private MockResponse page(List<Map<String, Object>> executions, String nextCursor) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("executions", executions);
+        body.put("nextCursor", nextCursor);
+
+        return new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(body));
+    }
+
+    private static Map<String, Object> execution(String id, String updatedAt) {
+        return Map.of(
+            "id", id,
+            "ruleId", "rule-1",
+            "status", "COMPLETED",
+            "updatedAt", updatedAt
+        );
+    }
+}
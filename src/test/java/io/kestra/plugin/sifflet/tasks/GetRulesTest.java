@@ -0,0 +1,262 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.IdUtils;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest
+class GetRulesTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private MockWebServer mockWebServer;
+    private ObjectMapper objectMapper;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        baseUrl = "http://localhost:" + mockWebServer.getPort();
+        objectMapper = new ObjectMapper();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testLookupFromCatalog() throws Exception {
+        // Catalog of three rules over two pages
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of(
+                "rules", List.of(rule("rule-1"), rule("rule-2")),
+                "totalCount", 3,
+                "pageSize", 2,
+                "pageNumber", 1
+            ))));
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of(
+                "rules", List.of(rule("rule-3")),
+                "totalCount", 3,
+                "pageSize", 2,
+                "pageNumber", 2
+            ))));
+        // Unknown rules fall back to the API, on both runs
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(404)
+            .setBody("Not Found"));
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(404)
+            .setBody("Not Found"));
+
+        GetRules task = GetRules.builder()
+            .id(IdUtils.create())
+            .type(GetRules.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key-" + IdUtils.create())
+            .pageSize(2)
+            .ruleIds(List.of("rule-3", "rule-1", "rule-unknown"))
+            .build();
+
+        RunContext runContext = runContextFactory.of();
+        GetRules.Output output = task.run(runContext);
+
+        assertThat(output.getRules().stream().map(ListRules.Rule::getId).toList(), contains("rule-3", "rule-1"));
+        assertThat(output.getRules().get(0).getName(), is("Rule rule-3"));
+        assertThat(output.getMissing(), contains("rule-unknown"));
+        assertThat(mockWebServer.getRequestCount(), is(3));
+
+        // The snapshot is still fresh: only the miss goes to the API
+        GetRules.Output second = task.run(runContextFactory.of());
+
+        assertThat(second.getRules(), hasSize(2));
+        assertThat(mockWebServer.getRequestCount(), is(4));
+    }
+
+    @Test
+    void testFetchedMissesAreKept() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of(
+                "rules", List.of(rule("rule-1")),
+                "totalCount", 1,
+                "pageSize", 100,
+                "pageNumber", 1
+            ))));
+        // Created after the snapshot was taken
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(rule("rule-new"))));
+
+        GetRules task = GetRules.builder()
+            .id(IdUtils.create())
+            .type(GetRules.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key-" + IdUtils.create())
+            .ruleIds(List.of("rule-1", "rule-new"))
+            .build();
+
+        GetRules.Output first = task.run(runContextFactory.of());
+        assertThat(first.getRules().stream().map(ListRules.Rule::getId).toList(), contains("rule-1", "rule-new"));
+        assertThat(mockWebServer.getRequestCount(), is(2));
+
+        // The fetched rule is now part of the snapshot
+        GetRules.Output second = task.run(runContextFactory.of());
+        assertThat(second.getRules().stream().map(ListRules.Rule::getId).toList(), contains("rule-1", "rule-new"));
+        assertThat(mockWebServer.getRequestCount(), is(2));
+    }
+
+    @Test
+    void testFailedRefreshServesStaleSnapshot() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of(
+                "rules", List.of(rule("rule-1")),
+                "totalCount", 1,
+                "pageSize", 100,
+                "pageNumber", 1
+            ))));
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(500)
+            .setBody("Internal Server Error"));
+
+        GetRules task = GetRules.builder()
+            .id(IdUtils.create())
+            .type(GetRules.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key-" + IdUtils.create())
+            .catalogTtl(0)
+            .ruleIds(List.of("rule-1"))
+            .build();
+
+        task.run(runContextFactory.of());
+        Thread.sleep(10);
+
+        RunContext runContext = runContextFactory.of();
+        GetRules.Output output = task.run(runContext);
+
+        assertThat(output.getRules().stream().map(ListRules.Rule::getId).toList(), contains("rule-1"));
+        assertThat(mockWebServer.getRequestCount(), is(2));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("catalog.refresh.failed")), is(true));
+    }
+
+    @Test
+    void testStaleSnapshotServedDuringRefresh() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of(
+                "rules", List.of(rule("rule-1")),
+                "totalCount", 1,
+                "pageSize", 100,
+                "pageNumber", 1
+            ))));
+        // the next refresh is slow
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setHeadersDelay(3, TimeUnit.SECONDS)
+            .setBody(objectMapper.writeValueAsString(Map.of(
+                "rules", List.of(rule("rule-1")),
+                "totalCount", 1,
+                "pageSize", 100,
+                "pageNumber", 1
+            ))));
+
+        GetRules task = GetRules.builder()
+            .id(IdUtils.create())
+            .type(GetRules.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key-" + IdUtils.create())
+            .catalogTtl(0)
+            .ruleIds(List.of("rule-1"))
+            .build();
+
+        task.run(runContextFactory.of());
+        Thread.sleep(10);
+
+        CompletableFuture<GetRules.Output> refreshing = CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.run(runContextFactory.of());
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+        mockWebServer.takeRequest();
+        mockWebServer.takeRequest();
+
+        // while the refresh is in progress, another lookup is answered from the stale snapshot at once
+        long start = System.nanoTime();
+        GetRules.Output output = task.run(runContextFactory.of());
+        assertThat(output.getRules().stream().map(ListRules.Rule::getId).toList(), contains("rule-1"));
+        assertThat(Duration.ofNanos(System.nanoTime() - start).toMillis(), lessThan(2000L));
+        assertThat(mockWebServer.getRequestCount(), is(2));
+
+        assertThat(refreshing.get(10, TimeUnit.SECONDS).getRules(), hasSize(1));
+    }
+
+    @Test
+    void testEmptyLookupSkipsRefresh() throws Exception {
+        GetRules task = GetRules.builder()
+            .id(IdUtils.create())
+            .type(GetRules.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key-" + IdUtils.create())
+            .ruleIds(List.of())
+            .build();
+
+        GetRules.Output output = task.run(runContextFactory.of());
+
+        assertThat(output.getRules(), is(empty()));
+        assertThat(output.getMissing(), is(empty()));
+        assertThat(mockWebServer.getRequestCount(), is(0));
+    }
+
+    @Test
+    void testFailedRefreshWithoutSnapshotFails() {
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(500)
+            .setBody("Internal Server Error"));
+
+        GetRules task = GetRules.builder()
+            .id(IdUtils.create())
+            .type(GetRules.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key-" + IdUtils.create())
+            .ruleIds(List.of("rule-1"))
+            .build();
+
+        Exception exception = assertThrows(Exception.class, () -> task.run(runContextFactory.of()));
+        assertThat(exception.getMessage(), containsString("Failed to list rules"));
+    }
+
+    private static Map<String, Object> rule(String id) {
+        return Map.of(
+            "id", id,
+            "name", "Rule " + id,
+            "status", "ACTIVE"
+        );
+    }
+}
@@ -0,0 +1,56 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import io.kestra.core.utils.IdUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class InMemoryStatusCacheTest {
+    private static final Duration CLAIM = Duration.ofSeconds(30);
+
+    @Test
+    void claimIsExclusiveUntilExpired() {
+        StatusCache cache = new InMemoryStatusCache(Endpoints.key("http://sifflet", IdUtils.create()));
+        Instant now = Instant.now();
+
+        assertThat(cache.claim("exec", Optional.empty(), "first", now, CLAIM), is(true));
+        assertThat(cache.claim("exec", Optional.empty(), "second", now, CLAIM), is(false));
+        assertThat(cache.claim("exec", Optional.empty(), "first", now, CLAIM), is(true));
+        assertThat(cache.claim("exec", Optional.empty(), "second", now.plus(CLAIM).plusMillis(1), CLAIM), is(true));
+    }
+
+    @Test
+    void scopedByEndpoint() {
+        String url = "http://sifflet";
+        StatusCache cache = new InMemoryStatusCache(Endpoints.key(url, IdUtils.create()));
+        StatusCache other = new InMemoryStatusCache(Endpoints.key(url, IdUtils.create()));
+        Instant now = Instant.now();
+
+        cache.put("exec", new StatusCache.Entry("COMPLETED", now.toEpochMilli(), "first", null));
+
+        assertThat(cache.get("exec").map(StatusCache.Entry::getStatus).orElse(null), is("COMPLETED"));
+        assertThat(other.get("exec").isPresent(), is(false));
+        assertThat(other.claim("exec", Optional.empty(), "second", now, CLAIM), is(true));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        StatusCache cache = new InMemoryStatusCache(Endpoints.key("http://sifflet", IdUtils.create()));
+        Instant now = Instant.now();
+
+        cache.put("kept", new StatusCache.Entry("RUNNING", now.toEpochMilli(), null, null));
+        for (int i = 0; i < InMemoryStatusCache.MAX_ENTRIES; i++) {
+            cache.get("kept");
+            cache.put("exec-" + i, new StatusCache.Entry("RUNNING", now.toEpochMilli(), null, null));
+        }
+
+        assertThat(InMemoryStatusCache.size(), lessThanOrEqualTo(InMemoryStatusCache.MAX_ENTRIES));
+        assertThat(cache.get("kept").isPresent(), is(true));
+        assertThat(cache.get("exec-0").isPresent(), is(false));
+    }
+}
@@ -0,0 +1,95 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonFieldsTest {
+    private static final byte[] STATUS_BODY = """
+        {
+          "executionId": "test-execution-123",
+          "status": "RUNNING",
+          "ruleId": "test-rule-id",
+          "startedAt": "2024-02-26T10:00:00Z",
+          "details": {
+            "datasets": ["orders", "customers", "payments"],
+            "message": "Rule is evaluating monitored datasets",
+            "progress": {"done": 12, "total": 40}
+          }
+        }
+        """.getBytes(StandardCharsets.UTF_8);
+
+    private static final int POLLS = 10_000;
+
+    @Test
+    void readString() throws IOException {
+        assertThat(JsonFields.readString(new ByteArrayInputStream(STATUS_BODY), "status"), is("RUNNING"));
+        assertThat(JsonFields.readString(new ByteArrayInputStream(STATUS_BODY), "ruleId"), is("test-rule-id"));
+        assertThat(JsonFields.readString(new ByteArrayInputStream("{\"status\":null}".getBytes()), "status"), is(nullValue()));
+    }
+
+    @Test
+    void drainsRemainingBody() throws IOException {
+        ByteArrayInputStream body = new ByteArrayInputStream(STATUS_BODY);
+        JsonFields.readString(body, "executionId");
+
+        assertThat(body.available(), is(0));
+    }
+
+    @Test
+    void invalidBody() {
+        assertThrows(IOException.class, () -> JsonFields.readString(new ByteArrayInputStream("invalid json".getBytes()), "status"));
+        assertThrows(IOException.class, () -> JsonFields.readString(new ByteArrayInputStream("[]".getBytes()), "status"));
+        assertThrows(IOException.class, () -> JsonFields.readString(new ByteArrayInputStream("{\"other\":1}".getBytes()), "status"));
+    }
+
+    /**
+     * Compare the bytes allocated per poll against the previous approach: buffering the body as a String
+     * and reading a tree to get a single field.
+     */
+    @Test
+    void allocatesLessThanTreeParsing() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+
+        // warm up both paths so class loading and JIT do not count
+        for (int i = 0; i < POLLS; i++) {
+            mapper.readTree(new String(STATUS_BODY, StandardCharsets.UTF_8)).get("status").asText();
+            JsonFields.readString(new ByteArrayInputStream(STATUS_BODY), "status");
+        }
+
+        long treeBytes = allocatedBytes(() -> {
+            for (int i = 0; i < POLLS; i++) {
+                mapper.readTree(new String(STATUS_BODY, StandardCharsets.UTF_8)).get("status").asText();
+            }
+        });
+        long streamingBytes = allocatedBytes(() -> {
+            for (int i = 0; i < POLLS; i++) {
+                JsonFields.readString(new ByteArrayInputStream(STATUS_BODY), "status");
+            }
+        });
+
+        assertThat(streamingBytes, lessThan(treeBytes));
+    }
+
+    private static long allocatedBytes(IoRunnable runnable) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        runnable.run();
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    @FunctionalInterface
+    private interface IoRunnable {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,77 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@MicronautTest
+class KvStatusCacheTest {
+    private static final Duration CLAIM = Duration.ofSeconds(30);
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void claimIsWrittenThenReadBack() throws Exception {
+        RunContext runContext = runContext();
+        StatusCache cache = new KvStatusCache(runContext, Endpoints.key("http://sifflet", IdUtils.create()));
+        String executionId = "exec-" + IdUtils.create();
+        Instant now = Instant.now();
+
+        assertThat(cache.claim(executionId, cache.get(executionId), "first", now, CLAIM), is(true));
+        StatusCache.Entry entry = cache.get(executionId).orElseThrow();
+        assertThat(entry.getPoller(), is("first"));
+        assertThat(entry.getClaimedUntil(), is(now.plus(CLAIM).toEpochMilli()));
+
+        // another waiter reads the claim and leaves the polling to its holder until it expires
+        assertThat(cache.claim(executionId, cache.get(executionId), "second", now, CLAIM), is(false));
+        assertThat(cache.claim(executionId, cache.get(executionId), "first", now, CLAIM), is(true));
+        assertThat(cache.claim(executionId, cache.get(executionId), "second", now.plus(CLAIM).plusMillis(1), CLAIM), is(true));
+        assertThat(cache.get(executionId).map(StatusCache.Entry::getPoller).orElse(null), is("second"));
+    }
+
+    @Test
+    void scopedByEndpoint() throws Exception {
+        RunContext runContext = runContext();
+        StatusCache cache = new KvStatusCache(runContext, Endpoints.key("http://sifflet", IdUtils.create()));
+        StatusCache other = new KvStatusCache(runContext, Endpoints.key("http://sifflet", IdUtils.create()));
+        String executionId = "exec-" + IdUtils.create();
+
+        cache.put(executionId, new StatusCache.Entry("COMPLETED", Instant.now().toEpochMilli(), "first", null));
+
+        assertThat(cache.get(executionId).map(StatusCache.Entry::getStatus).orElse(null), is("COMPLETED"));
+        assertThat(other.get(executionId).isPresent(), is(false));
+    }
+
+    @Test
+    void unavailableStoreLetsEveryWaiterPoll() {
+        // a run context without a flow has no namespace KV store
+        StatusCache cache = new KvStatusCache(runContextFactory.of(), Endpoints.key("http://sifflet", IdUtils.create()));
+        Instant now = Instant.now();
+
+        assertThat(cache.get("exec"), is(Optional.empty()));
+        assertThat(cache.claim("exec", Optional.empty(), "first", now, CLAIM), is(true));
+        assertThat(cache.claim("exec", Optional.empty(), "second", now, CLAIM), is(true));
+    }
+
+    private RunContext runContext() {
+        Task task = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .build();
+        return TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+    }
+}
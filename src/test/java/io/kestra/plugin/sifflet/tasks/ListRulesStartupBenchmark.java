@@ -0,0 +1,98 @@
+package io.kestra.plugin.sifflet.tasks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first completed {@code ListRules} fetch on a cold JVM, covering the loading and initialization of
+ * the plugin classes, JSON mapping and HTTP client.
+ * <p>
+ * Run it with {@code ./gradlew startupBenchmark}. The benchmark forks a plain JVM per run, without any application
+ * context, and measures from the fork until the child reports that the first page of rules was fetched and
+ * parsed through the same client and mapper {@code ListRules} uses. Set {@code -PstartupBenchmarkBaseline=<ms>},
+ * for example the median reported for the previous release jar, to fail when the median is more than 10% slower.
+ */
+public class ListRulesStartupBenchmark {
+    private static final String RULES_BODY = """
+        {
+          "rules": [
+            {"id": "rule-1", "name": "Freshness", "status": "ACTIVE", "createdAt": "2024-02-26T10:00:00Z"},
+            {"id": "rule-2", "name": "Volume", "status": "ACTIVE", "createdAt": "2024-02-26T10:00:00Z"}
+          ],
+          "totalCount": 2,
+          "pageSize": 100,
+          "pageNumber": 1
+        }
+        """;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("child")) {
+            child();
+        } else {
+            driver(Integer.getInteger("benchmark.runs", 5), Long.getLong("benchmark.baseline", 0));
+        }
+    }
+
+    private static void driver(int runs, long baselineMillis) throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<Long> totals = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), ListRulesStartupBenchmark.class.getName(), "child")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+            String firstCall;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                firstCall = reader.readLine();
+            }
+            long total = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (process.waitFor() != 0 || firstCall == null) {
+                throw new IllegalStateException("Benchmark run " + run + " failed");
+            }
+
+            totals.add(total);
+            System.out.printf("run %d: %d ms from JVM fork, first call %s ms%n", run, total, firstCall);
+        }
+
+        long median = totals.stream().sorted().toList().get(totals.size() / 2);
+        System.out.printf("median: %d ms from JVM fork to the first completed ListRules fetch%n", median);
+        if (baselineMillis > 0 && median > baselineMillis * 1.1) {
+            throw new IllegalStateException("Startup regressed: median " + median + " ms against a baseline of " + baselineMillis + " ms");
+        }
+    }
+
+    private static void child() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = RULES_BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        try {
+            long start = System.nanoTime();
+            SiffletClient client = new SiffletClient(null, "http://localhost:" + server.getAddress().getPort(), "benchmark-api-key", AdaptiveLimiter.Lane.BULK);
+            List<ListRules.Rule> rules = ListRules.fetchAllPages(client, 100, null);
+            long firstCall = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (rules.size() != 2) {
+                throw new IllegalStateException("Unexpected rules " + rules);
+            }
+
+            System.out.println(firstCall);
+            System.out.flush();
+        } finally {
+            server.stop(0);
+        }
+        System.exit(0);
+    }
+}
@@ -1,20 +1,30 @@
 package io.kestra.plugin.sifflet.tasks;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
 import io.kestra.core.utils.IdUtils;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -156,4 +166,165 @@ class ListRulesTest {
         String authHeader = recordedRequest.getHeader("Authorization");
         assertThat(authHeader, is("Bearer test-api-key"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testMultipleWorkspaces() throws Exception {
+        try (MockWebServer failingServer = new MockWebServer(); MockWebServer slowServer = new MockWebServer()) {
+            mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(objectMapper.writeValueAsString(Map.of(
+                    "rules", List.of(Map.of("id", "rule-1", "name", "Test Rule")),
+                    "totalCount", 1,
+                    "pageSize", 100,
+                    "pageNumber", 1
+                ))));
+            failingServer.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .setBody("Internal Server Error"));
+            slowServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeadersDelay(10, TimeUnit.SECONDS)
+                .setBody("{}"));
+
+            ListRules task = ListRules.builder()
+                .id(IdUtils.create())
+                .type(ListRules.class.getName())
+                .workspaceTimeout(2)
+                .workspaces(List.of(
+                    new ListRules.Workspace("eu", baseUrl, "test-api-key"),
+                    new ListRules.Workspace("us", "http://localhost:" + failingServer.getPort(), "test-api-key"),
+                    new ListRules.Workspace("apac", "http://localhost:" + slowServer.getPort(), "test-api-key")
+                ))
+                .build();
+
+            RunContext runContext = runContextFactory.of();
+            ListRules.Output output = task.run(runContext);
+
+            assertThat(output.getRules(), hasSize(1));
+            assertThat(output.getRules().get(0).getSource(), is("eu"));
+            assertThat(output.getTotalCount(), is(1));
+            assertThat(output.getErrors(), hasSize(2));
+            assertThat(output.getErrors().get(0).getWorkspace(), is("us"));
+            assertThat(output.getErrors().get(0).getMessage(), containsString("Failed to list rules"));
+            assertThat(output.getErrors().get(1).getWorkspace(), is("apac"));
+            assertThat(output.getErrors().get(1).getMessage(), containsStringIgnoringCase("timed out"));
+        }
+    }
+
+    @Test
+    void testFetchAllPages() throws Exception {
+        for (int page = 1; page <= 3; page++) {
+            mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(objectMapper.writeValueAsString(Map.of(
+                    "rules", List.of(Map.of("id", "rule-" + page, "name", "Test Rule")),
+                    "totalCount", 3,
+                    "pageSize", 1,
+                    "pageNumber", page
+                ))));
+        }
+
+        ListRules task = ListRules.builder()
+            .id(IdUtils.create())
+            .type(ListRules.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .pageSize(1)
+            .fetchAll(true)
+            .build();
+
+        RunContext runContext = runContextFactory.of();
+        ListRules.Output output = task.run(runContext);
+
+        assertThat(output.getRules(), hasSize(3));
+        assertThat(output.getTotalCount(), is(3));
+        assertThat(mockWebServer.getRequestCount(), is(3));
+    }
+
+    @Test
+    void testShardedOutput() throws Exception {
+        List<Map<String, String>> rules = IntStream.rangeClosed(1, 50)
+            .mapToObj(i -> Map.of("id", "rule-" + i, "name", "Test Rule"))
+            .toList();
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of(
+                "rules", rules,
+                "totalCount", 50,
+                "pageSize", 100,
+                "pageNumber", 1
+            ))));
+
+        ListRules task = ListRules.builder()
+            .id(IdUtils.create())
+            .type(ListRules.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .shards(4)
+            .build();
+
+        RunContext runContext = runContextFactory.of();
+        ListRules.Output output = task.run(runContext);
+
+        assertThat(output.getRules(), is(nullValue()));
+        assertThat(output.getTotalCount(), is(50));
+        assertThat(output.getShardUris(), hasSize(4));
+
+        List<String> ids = new ArrayList<>();
+        for (int shard = 0; shard < 4; shard++) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getShardUris().get(shard))))) {
+                List<ListRules.Rule> shardRules = FileSerde.readAll(reader, new TypeReference<ListRules.Rule>() {}).collectList().block();
+                for (ListRules.Rule rule : shardRules) {
+                    assertThat(rule.getName(), is("Test Rule"));
+                    // the same rule must always land in the same shard
+                    assertThat(ListRules.shardOf(rule.getId(), 4), is(shard));
+                    ids.add(rule.getId());
+                }
+            }
+        }
+        assertThat(ids, containsInAnyOrder(rules.stream().map(rule -> rule.get("id")).toArray()));
+    }
+
+    @Test
+    void testHedgedPageFetch() throws Exception {
+        // Answer quickly, except for the first request after the warm-up which is very slow
+        AtomicBoolean slowNext = new AtomicBoolean(false);
+        String body = objectMapper.writeValueAsString(Map.of(
+            "rules", List.of(Map.of("id", "rule-1", "name", "Test Rule")),
+            "totalCount", 1,
+            "pageSize", 100,
+            "pageNumber", 1
+        ));
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                MockResponse response = new MockResponse().setResponseCode(200).setBody(body);
+                if (slowNext.compareAndSet(true, false)) {
+                    response.setHeadersDelay(10, TimeUnit.SECONDS);
+                }
+                return response;
+            }
+        });
+
+        ListRules task = ListRules.builder()
+            .id(IdUtils.create())
+            .type(ListRules.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .hedging(new Hedging(0.9, 1.0))
+            .build();
+
+        for (int i = 0; i < 30; i++) {
+            task.run(runContextFactory.of());
+        }
+
+        slowNext.set(true);
+        RunContext runContext = runContextFactory.of();
+        long start = System.nanoTime();
+        ListRules.Output output = task.run(runContext);
+
+        assertThat(output.getRules(), hasSize(1));
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), lessThan(5L));
+        assertThat(runContext.metrics().stream().map(metric -> metric.getName()).toList(), hasItems("hedge.sent", "hedge.won"));
+    }
+}
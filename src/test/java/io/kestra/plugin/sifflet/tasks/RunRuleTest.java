@@ -4,16 +4,34 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
 import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -69,6 +87,9 @@ class RunRuleTest {
         assertThat(output, is(notNullValue()));
         assertThat(output.getExecutionId(), is("test-execution-123"));
         assertThat(output.getStatus(), is("COMPLETED"));
+        assertThat(output.getConcurrency().getLane(), is("interactive"));
+        assertThat(output.getConcurrency().getLimit(), greaterThanOrEqualTo(AdaptiveLimiter.MIN_LIMIT));
+        assertThat(output.getConcurrency().getQueueDepth(), is(0));
     }
 
     @Test
@@ -230,4 +251,534 @@ class RunRuleTest {
         Exception exception = assertThrows(Exception.class, () -> task.run(runContext));
         assertThat(exception.getMessage(), containsString("Failed to parse response"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testMissingExecutionId() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody("{\"executionId\": null}"));
+
+        RunRule task = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .ruleId("test-rule-id")
+            .pollingInterval(1)
+            .ruleTimeout(10)
+            .build();
+
+        RunContext runContext = runContextFactory.of();
+        Exception exception = assertThrows(Exception.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("Sifflet returned no execution ID for rule 'test-rule-id'"));
+        assertThat(mockWebServer.getRequestCount(), is(1));
+    }
+
+    @Test
+    void testMultipleRulesExecution() throws Exception {
+        String suffix = IdUtils.create();
+        String ruleA = "rule-a-" + suffix;
+        String ruleB = "rule-b-" + suffix;
+        String ruleC = "rule-c-" + suffix;
+
+        // Answer each rule with its own execution, rule-b fails, and record when each call was received
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        Map<String, Long> startedAt = new ConcurrentHashMap<>();
+        Map<String, Long> firstPolledAt = new ConcurrentHashMap<>();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                long now = System.currentTimeMillis();
+                try {
+                    if (path.endsWith("/run")) {
+                        String rule = path.split("/")[4];
+                        started.add(rule);
+                        startedAt.put(rule, now);
+                        return new MockResponse()
+                            .setResponseCode(200)
+                            .setBody(objectMapper.writeValueAsString(Map.of("executionId", "exec-" + rule)));
+                    }
+                    String rule = path.split("/")[5].substring("exec-".length());
+                    firstPolledAt.putIfAbsent(rule, now);
+                    String status = rule.equals(ruleB) ? "FAILED" : "COMPLETED";
+                    return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(objectMapper.writeValueAsString(Map.of("status", status)));
+                } catch (Exception e) {
+                    return new MockResponse().setResponseCode(500);
+                }
+            }
+        });
+
+        RunRule task = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .ruleIds(List.of(ruleA, ruleB, ruleC))
+            .concurrency(1)
+            .pollingInterval(1)
+            .ruleTimeout(10)
+            .build();
+
+        // Seed the duration history: rule-b is expected to be the longest, rule-c has no history
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+        RuleStateStore stateStore = new RuleStateStore(runContext, Endpoints.key(baseUrl, "test-api-key"));
+        stateStore.recordRun(ruleA, "previous-a", "COMPLETED", Duration.ofMillis(1000), Instant.now());
+        stateStore.recordRun(ruleB, "previous-b", "COMPLETED", Duration.ofMillis(3000), Instant.now());
+
+        RunRule.Output output = task.run(runContext);
+
+        assertThat(output.getStatus(), is("FAILED"));
+        assertThat(output.getResults(), hasSize(3));
+        assertThat(
+            output.getResults().stream().map(RunRule.RuleResult::getExecutionId).toList(),
+            containsInAnyOrder("exec-" + ruleA, "exec-" + ruleB, "exec-" + ruleC)
+        );
+
+        // Longest expected first, rules without history last
+        assertThat(started, contains(ruleB, ruleA, ruleC));
+        // Results come back in declared order whatever the start order
+        assertThat(output.getResults().stream().map(RunRule.RuleResult::getRuleId).toList(), contains(ruleA, ruleB, ruleC));
+
+        // The first poll of rule-b is deferred to 90% of its expected duration, the others use the polling interval
+        assertThat(firstPolledAt.get(ruleB) - startedAt.get(ruleB), greaterThanOrEqualTo(2700L));
+        assertThat(firstPolledAt.get(ruleA) - startedAt.get(ruleA), allOf(greaterThanOrEqualTo(1000L), lessThan(2700L)));
+        assertThat(firstPolledAt.get(ruleC) - startedAt.get(ruleC), allOf(greaterThanOrEqualTo(1000L), lessThan(2700L)));
+
+        // The moving averages fold in the new durations
+        Map<String, Duration> durations = output.getResults().stream()
+            .collect(Collectors.toMap(RunRule.RuleResult::getRuleId, RunRule.RuleResult::getDuration));
+        RuleStateStore.RuleState stateA = stateStore.get(ruleA).orElseThrow();
+        RuleStateStore.RuleState stateB = stateStore.get(ruleB).orElseThrow();
+        RuleStateStore.RuleState stateC = stateStore.get(ruleC).orElseThrow();
+        assertThat(stateA.getSamples(), is(2));
+        assertThat(stateA.getExpectedDurationMillis(), is(Math.round(0.3 * durations.get(ruleA).toMillis() + 0.7 * 1000)));
+        assertThat(stateB.getSamples(), is(2));
+        assertThat(stateB.getExpectedDurationMillis(), is(Math.round(0.3 * durations.get(ruleB).toMillis() + 0.7 * 3000)));
+        assertThat(stateC.getSamples(), is(1));
+        assertThat(stateC.getExpectedDurationMillis(), is(durations.get(ruleC).toMillis()));
+    }
+
+    @Test
+    void testKillCancelsRemoteExecution() throws Exception {
+        // Mock successful rule start
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of("executionId", "test-execution-123"))));
+        // Mock successful cancellation
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody("{}"));
+
+        RunRule task = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .ruleId("test-rule-id")
+            .pollingInterval(60)
+            .ruleTimeout(120)
+            .build();
+
+        RunContext runContext = runContextFactory.of();
+        CompletableFuture<RunRule.Output> run = CompletableFuture.supplyAsync(throwing(() -> task.run(runContext)));
+
+        // Wait for the rule to start, then kill the task while it waits for the first poll
+        mockWebServer.takeRequest();
+        task.kill();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> run.get(10, TimeUnit.SECONDS));
+        assertThat(exception.getCause().getMessage(), containsString("remote execution was cancelled"));
+
+        var cancelRequest = mockWebServer.takeRequest();
+        assertThat(cancelRequest.getMethod(), is("POST"));
+        assertThat(cancelRequest.getPath(), is("/api/v1/rules/executions/test-execution-123/cancel"));
+    }
+
+    @Test
+    void testKillDuringStatusCheckCancelsRemoteExecution() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of("executionId", "test-execution-123"))));
+        // a status check that hangs until the task is killed
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setHeadersDelay(60, TimeUnit.SECONDS)
+            .setBody(objectMapper.writeValueAsString(Map.of("status", "RUNNING"))));
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody("{}"));
+
+        RunRule task = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .ruleId("test-rule-id")
+            .pollingInterval(1)
+            .ruleTimeout(120)
+            .build();
+
+        RunContext runContext = runContextFactory.of();
+        CompletableFuture<RunRule.Output> run = CompletableFuture.supplyAsync(throwing(() -> task.run(runContext)));
+
+        // Wait for the rule to start and for the status check to be pending, then kill the task
+        mockWebServer.takeRequest();
+        assertThat(mockWebServer.takeRequest().getPath(), is("/api/v1/rules/executions/test-execution-123/status"));
+        task.kill();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> run.get(10, TimeUnit.SECONDS));
+        assertThat(exception.getCause().getMessage(), containsString("remote execution was cancelled"));
+
+        var cancelRequest = mockWebServer.takeRequest(10, TimeUnit.SECONDS);
+        assertThat(cancelRequest.getMethod(), is("POST"));
+        assertThat(cancelRequest.getPath(), is("/api/v1/rules/executions/test-execution-123/cancel"));
+    }
+
+    @Test
+    void testTimeoutCancelsRemoteExecution() throws Exception {
+        // Mock successful rule start
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of("executionId", "test-execution-123"))));
+        // Mock a running status then a refused cancellation
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of("status", "RUNNING"))));
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(409)
+            .setBody("Already finished"));
+
+        RunRule task = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .ruleId("test-rule-id")
+            .pollingInterval(1)
+            .ruleTimeout(1)
+            .build();
+
+        RunContext runContext = runContextFactory.of();
+        Exception exception = assertThrows(Exception.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("Rule execution timed out"));
+        assertThat(exception.getMessage(), containsString("could not be cancelled"));
+    }
+
+    @Test
+    void testFreshResultIsReused() throws Exception {
+        // Mock a single successful execution, the second run must not call the API
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of("executionId", "test-execution-123"))));
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of("status", "COMPLETED"))));
+
+        RunRule task = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .ruleId("fresh-rule-" + IdUtils.create())
+            .pollingInterval(1)
+            .ruleTimeout(10)
+            .maxResultAge(3600)
+            .build();
+
+        RunRule.Output first = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+        assertThat(first.getReused(), is(false));
+
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+        RunRule.Output second = task.run(runContext);
+
+        assertThat(second.getReused(), is(true));
+        assertThat(second.getExecutionId(), is("test-execution-123"));
+        assertThat(second.getStatus(), is("COMPLETED"));
+        assertThat(mockWebServer.getRequestCount(), is(2));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("rule.reused")), is(true));
+    }
+
+    @Test
+    void testFreshResultsAreReusedPerEndpoint() throws Exception {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                try {
+                    if (path.endsWith("/run")) {
+                        return new MockResponse()
+                            .setResponseCode(200)
+                            .setBody(objectMapper.writeValueAsString(Map.of("executionId", "exec-" + path.split("/")[4])));
+                    }
+                    return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(objectMapper.writeValueAsString(Map.of("status", "COMPLETED")));
+                } catch (Exception e) {
+                    return new MockResponse().setResponseCode(500);
+                }
+            }
+        });
+
+        String suffix = IdUtils.create();
+        RunRule task = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .ruleIds(List.of("fresh-a-" + suffix, "fresh-b-" + suffix))
+            .pollingInterval(1)
+            .ruleTimeout(10)
+            .maxResultAge(3600)
+            .build();
+
+        RunRule.Output first = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+        assertThat(first.getReused(), is(false));
+        assertThat(mockWebServer.getRequestCount(), is(4));
+
+        RunRule.Output second = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+        assertThat(second.getReused(), is(true));
+        assertThat(second.getResults().stream().map(RunRule.RuleResult::getReused).toList(), contains(true, true));
+        assertThat(mockWebServer.getRequestCount(), is(4));
+
+        // the same rules with another API key have no history
+        RunRule otherKey = RunRule.builder()
+            .id(task.getId())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("other-api-key")
+            .ruleIds(task.getRuleIds())
+            .pollingInterval(1)
+            .ruleTimeout(10)
+            .maxResultAge(3600)
+            .build();
+        RunRule.Output third = otherKey.run(TestsUtils.mockRunContext(runContextFactory, otherKey, Map.of()));
+        assertThat(third.getReused(), is(false));
+        assertThat(mockWebServer.getRequestCount(), is(8));
+    }
+
+    @Test
+    void testSharedStatusCachePollsOnce() throws Exception {
+        // Two tasks wait on the same execution, which completes at the fourth status check
+        AtomicInteger statusChecks = new AtomicInteger();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                try {
+                    String status = statusChecks.incrementAndGet() < 4 ? "RUNNING" : "COMPLETED";
+                    return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(objectMapper.writeValueAsString(Map.of("status", status)));
+                } catch (Exception e) {
+                    return new MockResponse().setResponseCode(500);
+                }
+            }
+        });
+
+        String executionId = "shared-execution-" + IdUtils.create();
+        List<CompletableFuture<RunRule.Output>> runs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            RunRule task = RunRule.builder()
+                .id(IdUtils.create())
+                .type(RunRule.class.getName())
+                .url(baseUrl)
+                .apiKey("test-api-key")
+                .ruleId("test-rule-id")
+                .executionId(executionId)
+                .statusCache(StatusCacheType.MEMORY)
+                .pollingInterval(1)
+                .ruleTimeout(30)
+                .build();
+
+            RunContext runContext = runContextFactory.of();
+            runs.add(CompletableFuture.supplyAsync(throwing(() -> task.run(runContext))));
+        }
+
+        for (CompletableFuture<RunRule.Output> run : runs) {
+            RunRule.Output output = run.get(30, TimeUnit.SECONDS);
+            assertThat(output.getExecutionId(), is(executionId));
+            assertThat(output.getStatus(), is("COMPLETED"));
+        }
+        assertThat(statusChecks.get(), is(4));
+        assertThat(mockWebServer.getRequestCount(), is(4));
+    }
+
+    @Test
+    void testKvStatusCacheSharesPolling() throws Exception {
+        // The execution completes at the fourth status check
+        AtomicInteger statusChecks = new AtomicInteger();
+        CountDownLatch firstCheck = new CountDownLatch(1);
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                try {
+                    String status = statusChecks.incrementAndGet() < 4 ? "RUNNING" : "COMPLETED";
+                    firstCheck.countDown();
+                    return new MockResponse()
+                        .setResponseCode(200)
+                        .setBody(objectMapper.writeValueAsString(Map.of("status", status)));
+                } catch (Exception e) {
+                    return new MockResponse().setResponseCode(500);
+                }
+            }
+        });
+
+        String executionId = "kv-execution-" + IdUtils.create();
+        List<RunContext> runContexts = new ArrayList<>();
+        List<CompletableFuture<RunRule.Output>> runs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            RunRule task = RunRule.builder()
+                .id(IdUtils.create())
+                .type(RunRule.class.getName())
+                .url(baseUrl)
+                .apiKey("test-api-key")
+                .ruleId("test-rule-id")
+                .executionId(executionId)
+                .statusCache(StatusCacheType.KV)
+                .pollingInterval(1)
+                .ruleTimeout(30)
+                .build();
+
+            RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+            runContexts.add(runContext);
+            runs.add(CompletableFuture.supplyAsync(throwing(() -> task.run(runContext))));
+            // the second waiter starts once the first one holds the claim
+            assertThat(firstCheck.await(10, TimeUnit.SECONDS), is(true));
+        }
+
+        for (CompletableFuture<RunRule.Output> run : runs) {
+            RunRule.Output output = run.get(30, TimeUnit.SECONDS);
+            assertThat(output.getExecutionId(), is(executionId));
+            assertThat(output.getStatus(), is("COMPLETED"));
+        }
+        assertThat(statusChecks.get(), is(4));
+        assertThat(statusCheckSources(runContexts.get(0)), everyItem(is("api")));
+        assertThat(statusCheckSources(runContexts.get(1)), everyItem(is("cache")));
+    }
+
+    @Test
+    void testKvStatusCacheFallsBackWhenUnavailable() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of("status", "COMPLETED"))));
+
+        RunRule task = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .ruleId("test-rule-id")
+            .executionId("kv-execution-" + IdUtils.create())
+            .statusCache(StatusCacheType.KV)
+            .pollingInterval(1)
+            .ruleTimeout(10)
+            .build();
+
+        // a run context without a flow has no namespace KV store, the task polls Sifflet itself
+        RunContext runContext = runContextFactory.of();
+        RunRule.Output output = task.run(runContext);
+
+        assertThat(output.getStatus(), is("COMPLETED"));
+        assertThat(statusCheckSources(runContext), contains("api"));
+    }
+
+    @Test
+    void testTimeoutLeavesAttachedExecutionRunning() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of("status", "RUNNING"))));
+
+        RunRule task = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .ruleId("test-rule-id")
+            .executionId("test-execution-123")
+            .pollingInterval(1)
+            .ruleTimeout(1)
+            .build();
+
+        RunContext runContext = runContextFactory.of();
+        Exception exception = assertThrows(Exception.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("remote execution was left running"));
+        assertThat(mockWebServer.getRequestCount(), is(1));
+        assertThat(mockWebServer.takeRequest().getMethod(), is("GET"));
+    }
+
+    @Test
+    void testAttachedExecutionIsNotRecorded() throws Exception {
+        String ruleId = "attached-rule-" + IdUtils.create();
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setBody(objectMapper.writeValueAsString(Map.of("status", "COMPLETED"))));
+
+        RunRule attach = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .ruleId(ruleId)
+            .executionId("attached-execution")
+            .pollingInterval(1)
+            .ruleTimeout(10)
+            .detectChanges(true)
+            .build();
+
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, attach, Map.of());
+        RunRule.Output output = attach.run(runContext);
+        assertThat(output.getStatus(), is("COMPLETED"));
+        assertThat(output.getChanged(), is(nullValue()));
+        assertThat(new RuleStateStore(runContext, Endpoints.key(baseUrl, "test-api-key")).get(ruleId).isPresent(), is(false));
+    }
+
+    @Test
+    void testChangeDetection() throws Exception {
+        RunRule task = RunRule.builder()
+            .id(IdUtils.create())
+            .type(RunRule.class.getName())
+            .url(baseUrl)
+            .apiKey("test-api-key")
+            .ruleId("monitored-rule-" + IdUtils.create())
+            .pollingInterval(1)
+            .ruleTimeout(10)
+            .detectChanges(true)
+            .build();
+
+        List<Boolean> changes = new ArrayList<>();
+        for (String status : List.of("COMPLETED", "COMPLETED", "FAILED")) {
+            mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(objectMapper.writeValueAsString(Map.of("executionId", "execution-" + changes.size()))));
+            mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(objectMapper.writeValueAsString(Map.of("status", status))));
+
+            RunRule.Output output = task.run(TestsUtils.mockRunContext(runContextFactory, task, Map.of()));
+            assertThat(output.getStatus(), is(status));
+            changes.add(output.getChanged());
+        }
+
+        assertThat(changes, contains(true, false, true));
+        assertThat(mockWebServer.getRequestCount(), is(6));
+    }
+
+    private static List<String> statusCheckSources(RunContext runContext) {
+        return runContext.metrics().stream()
+            .filter(metric -> metric.getName().equals("status.checks"))
+            .map(metric -> metric.getTags().get("source"))
+            .toList();
+    }
+
+    private static <T> Supplier<T> throwing(Callable<T> callable) {
+        return () -> {
+            try {
+                return callable.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        };
+    }
+}